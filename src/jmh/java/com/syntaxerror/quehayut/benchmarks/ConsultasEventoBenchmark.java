@@ -0,0 +1,67 @@
+package com.syntaxerror.quehayut.benchmarks;
+
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import jakarta.persistence.Tuple;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Consultas de EventoRepository usadas por GET /api/eventos con distintos tamaños de tabla
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConsultasEventoBenchmark {
+
+    private static final Limit PAGINA = Limit.of(50);
+
+    @Param({"1000", "10000", "100000"})
+    public int eventos;
+
+    private ConfigurableApplicationContext contexto;
+    private EventoRepository eventoRepository;
+    private TransactionTemplate lectura;
+    private LocalDateTime mitad;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("consultas" + eventos, eventos);
+        eventoRepository = contexto.getBean(EventoRepository.class);
+        lectura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        lectura.setReadOnly(true);
+        // Los datos sintéticos se reparten alrededor de hoy: el cursor cae a mitad de la tabla
+        mitad = LocalDateTime.now();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<Evento> primeraPagina() {
+        return lectura.execute(estado -> eventoRepository.findPrimeraPagina(PAGINA));
+    }
+
+    @Benchmark
+    public List<Evento> paginaIntermedia() {
+        return lectura.execute(estado -> eventoRepository.findPaginaDespuesDe(mitad, 0L, PAGINA));
+    }
+
+    @Benchmark
+    public List<Tuple> proyeccionPagina() {
+        return lectura.execute(estado ->
+                eventoRepository.findCampos(List.of("id", "nombre", "fechaInicio"), null, null, 50));
+    }
+
+    @Benchmark
+    public long contar() {
+        return eventoRepository.count();
+    }
+}
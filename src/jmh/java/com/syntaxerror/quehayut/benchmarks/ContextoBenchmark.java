@@ -0,0 +1,35 @@
+package com.syntaxerror.quehayut.benchmarks;
+
+import com.syntaxerror.quehayut.QueHayUtApplication;
+import com.syntaxerror.quehayut.seeders.GeneradorDatosMasivos;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Levanta la aplicación sin servidor web sobre una base H2 en memoria con N eventos sintéticos
+final class ContextoBenchmark {
+
+    private ContextoBenchmark() {
+    }
+
+    static ConfigurableApplicationContext iniciar(String baseDatos, long eventos) {
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(QueHayUtApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                // Como argumentos para que tengan prioridad sobre application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:" + baseDatos + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--quehayut.recordatorios.habilitado=false",
+                        "--quehayut.eventos.ciclo-vida.habilitado=false",
+                        "--logging.level.root=WARN");
+        contexto.getBean(GeneradorDatosMasivos.class).generar(eventos, 42, 4);
+        return contexto;
+    }
+}
@@ -0,0 +1,73 @@
+package com.syntaxerror.quehayut.benchmarks;
+
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Costo de materializar toda la tabla: entidades administradas, de solo lectura y proyecciones
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HidratacionEventosBenchmark {
+
+    private static final List<String> CAMPOS = List.of("id", "nombre", "ubicacion", "fechaInicio", "fechaFin", "estado");
+
+    @Param({"1000", "10000"})
+    public int eventos;
+
+    private ConfigurableApplicationContext contexto;
+    private EventoRepository eventoRepository;
+    private TransactionTemplate escritura;
+    private TransactionTemplate lectura;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("hidratacion" + eventos, eventos);
+        eventoRepository = contexto.getBean(EventoRepository.class);
+        PlatformTransactionManager transacciones = contexto.getBean(PlatformTransactionManager.class);
+        escritura = new TransactionTemplate(transacciones);
+        lectura = new TransactionTemplate(transacciones);
+        lectura.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    // findAll con snapshots para dirty checking
+    @Benchmark
+    public void entidadesAdministradas(Blackhole blackhole) {
+        escritura.executeWithoutResult(estado -> blackhole.consume(eventoRepository.findAll()));
+    }
+
+    @Benchmark
+    public void entidadesSoloLectura(Blackhole blackhole) {
+        lectura.executeWithoutResult(estado -> {
+            try (var stream = eventoRepository.streamTodos()) {
+                stream.forEach(blackhole::consume);
+            }
+        });
+    }
+
+    @Benchmark
+    public void proyeccionTuplas(Blackhole blackhole) {
+        lectura.executeWithoutResult(estado -> blackhole.consume(eventoRepository.findCampos(CAMPOS, null, null, null)));
+    }
+
+    @Benchmark
+    public void proyeccionEscalar(Blackhole blackhole) {
+        lectura.executeWithoutResult(estado -> {
+            try (var stream = eventoRepository.streamReporte(Limit.unlimited())) {
+                stream.forEach(blackhole::consume);
+            }
+        });
+    }
+}
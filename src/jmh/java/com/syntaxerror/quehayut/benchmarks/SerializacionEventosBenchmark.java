@@ -0,0 +1,72 @@
+package com.syntaxerror.quehayut.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Serialización con Jackson de la respuesta de GET /api/eventos, sin base de datos
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializacionEventosBenchmark {
+
+    @Param({"50", "1000", "10000"})
+    public int eventos;
+
+    private ObjectMapper objectMapper;
+    private List<Evento> entidades;
+    private List<Map<String, Object>> proyeccion;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        // Misma configuración base que el ObjectMapper de Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 8, 0);
+        entidades = new ArrayList<>(eventos);
+        proyeccion = new ArrayList<>(eventos);
+        for (long id = 1; id <= eventos; id++) {
+            Evento evento = new Evento();
+            evento.setId(id);
+            evento.setNombre("Taller de Programación " + id);
+            evento.setDescripcion("Actividad abierta a la comunidad universitaria. Incluye espacios de participación, "
+                    + "preguntas y networking.");
+            evento.setUbicacion("Auditorio Principal - Universidad del Tolima");
+            evento.setCover("https://ejemplo.com/eventos/" + id + ".jpg");
+            evento.setFechaInicio(base.plusHours(aleatorio.nextInt(24 * 365)));
+            evento.setFechaFin(evento.getFechaInicio().plusHours(1 + aleatorio.nextInt(8)));
+            evento.setEstado(EstadoEvento.PROGRAMADO);
+            evento.setOrganizador("Facultad de Ingeniería");
+            evento.setCreatedAt(base);
+            evento.setUpdatedAt(base);
+            entidades.add(evento);
+
+            Map<String, Object> fila = new LinkedHashMap<>();
+            fila.put("id", evento.getId());
+            fila.put("nombre", evento.getNombre());
+            fila.put("fechaInicio", evento.getFechaInicio());
+            proyeccion.add(fila);
+        }
+    }
+
+    @Benchmark
+    public byte[] entidades() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entidades);
+    }
+
+    @Benchmark
+    public byte[] proyeccionCampos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(proyeccion);
+    }
+}
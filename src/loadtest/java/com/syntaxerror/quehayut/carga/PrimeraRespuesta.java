@@ -0,0 +1,144 @@
+package com.syntaxerror.quehayut.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Tiempo hasta la primera respuesta 200 de /api/eventos con cada combinación de opciones de arranque.
+// Lanza la aplicación extraída (java -jar) como proceso aparte, consulta la ruta cada 10 ms hasta que
+// responde y la detiene. Usa la base de datos de application.properties; --args=... agrega argumentos.
+public class PrimeraRespuesta {
+
+    private static final String PERFIL_PEREZOSO = "--spring.profiles.active=arranque-rapido";
+
+    private record Variante(String nombre, List<String> opcionesJvm, List<String> argumentos) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(argumento(args, "--jar=", "build/arranque/quehayut.jar"));
+        String cdsTexto = argumento(args, "--cds=", null);
+        Path cds = cdsTexto == null || !Files.exists(Path.of(cdsTexto)) ? null : Path.of(cdsTexto);
+        boolean aot = Boolean.parseBoolean(argumento(args, "--aot=", "false"));
+        int repeticiones = Integer.parseInt(argumento(args, "--repeticiones=", "5"));
+        int puerto = Integer.parseInt(argumento(args, "--puerto=", "8089"));
+        Duration limite = Duration.parse(argumento(args, "--limite=", "PT120S"));
+        String extra = argumento(args, "--args=", "");
+        List<String> argumentosExtra = extra.isBlank() ? List.of() : Arrays.asList(extra.trim().split("\\s+"));
+
+        List<Variante> variantes = variantes(cds, aot);
+        System.out.printf(Locale.ROOT, "%nPrimera respuesta de /api/eventos: %s, %d repeticiones por variante%n",
+                jar, repeticiones);
+        String formato = "%-22s %10s %10s %10s%n";
+        System.out.printf(Locale.ROOT, "%n" + formato, "Variante", "min ms", "mediana ms", "max ms");
+
+        for (Variante variante : variantes) {
+            long[] tiempos = new long[repeticiones];
+            for (int i = 0; i < repeticiones; i++) {
+                tiempos[i] = medir(jar, variante, argumentosExtra, puerto, limite);
+            }
+            Arrays.sort(tiempos);
+            System.out.printf(Locale.ROOT, formato, variante.nombre(),
+                    tiempos[0], tiempos[repeticiones / 2], tiempos[repeticiones - 1]);
+        }
+        System.out.println();
+    }
+
+    private static List<Variante> variantes(Path cds, boolean aot) {
+        List<String> opcionCds = cds == null ? List.of() : List.of("-XX:SharedArchiveFile=" + cds);
+        List<String> opcionAot = List.of("-Dspring.aot.enabled=true");
+
+        List<Variante> variantes = new ArrayList<>();
+        variantes.add(new Variante("base", List.of(), List.of()));
+        // Esquema como antes de las migraciones: Hibernate compara todas las tablas en cada arranque
+        variantes.add(new Variante("ddl-update", List.of(),
+                List.of("--spring.flyway.enabled=false", "--spring.jpa.hibernate.ddl-auto=update")));
+        variantes.add(new Variante("perezoso", List.of(), List.of(PERFIL_PEREZOSO)));
+        if (cds != null) {
+            variantes.add(new Variante("cds", opcionCds, List.of()));
+        }
+        if (aot) {
+            variantes.add(new Variante("aot", opcionAot, List.of()));
+        }
+        if (cds != null || aot) {
+            List<String> todas = new ArrayList<>(opcionCds);
+            if (aot) {
+                todas.addAll(opcionAot);
+            }
+            variantes.add(new Variante((cds != null ? "cds+" : "") + (aot ? "aot+" : "") + "perezoso",
+                    todas, List.of(PERFIL_PEREZOSO)));
+        }
+        return variantes;
+    }
+
+    // Milisegundos desde que se lanza el proceso hasta el primer 200
+    private static long medir(Path jar, Variante variante, List<String> argumentosExtra, int puerto,
+                              Duration limite) throws IOException, InterruptedException {
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(variante.opcionesJvm());
+        comando.add("-jar");
+        comando.add(jar.toString());
+        comando.add("--server.port=" + puerto);
+        comando.addAll(argumentosExtra);
+        comando.addAll(variante.argumentos());
+
+        // La salida de la última ejecución de cada variante queda junto al jar para revisar errores
+        Path log = jar.resolveSibling("arranque-" + variante.nombre() + ".log");
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(200))
+                .build();
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/api/eventos"))
+                .timeout(limite)
+                .GET()
+                .build();
+
+        long inicio = System.nanoTime();
+        Process proceso = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long fin = inicio + limite.toNanos();
+            while (System.nanoTime() < fin) {
+                if (!proceso.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó al arrancar (" + variante.nombre()
+                            + "), ver " + log.toAbsolutePath());
+                }
+                try {
+                    if (http.send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+                    }
+                } catch (IOException e) {
+                    // Todavía no escucha en el puerto
+                }
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            throw new IllegalStateException("Sin respuesta en " + limite + " (" + variante.nombre() + "), ver "
+                    + log.toAbsolutePath());
+        } finally {
+            proceso.destroy();
+            if (!proceso.waitFor(30, TimeUnit.SECONDS)) {
+                proceso.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static String argumento(String[] args, String prefijo, String porDefecto) {
+        return Arrays.stream(args)
+                .filter(arg -> arg.startsWith(prefijo))
+                .map(arg -> arg.substring(prefijo.length()))
+                .findFirst()
+                .orElse(porDefecto);
+    }
+}
@@ -0,0 +1,220 @@
+package com.syntaxerror.quehayut.carga;
+
+import com.syntaxerror.quehayut.QueHayUtApplication;
+import com.syntaxerror.quehayut.seeders.GeneradorDatosMasivos;
+import com.syntaxerror.quehayut.services.EventoService;
+import com.syntaxerror.quehayut.services.IndiceBusquedaEventos;
+import com.syntaxerror.quehayut.services.IndiceCategoriasEventos;
+import com.syntaxerror.quehayut.services.IndiceIntervalosEventos;
+import com.syntaxerror.quehayut.services.RespuestaListadoEventos;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Prueba de carga local: levanta la aplicación sobre H2, genera N eventos y lanza C clientes
+// concurrentes (un hilo virtual cada uno) contra las rutas indicadas. Al final reporta rendimiento
+// y percentiles de latencia por ruta a partir de histogramas HDR.
+//
+// Los clientes trabajan en lazo cerrado (cada uno espera su respuesta antes de enviar la siguiente),
+// así que bajo saturación la latencia medida subestima la que vería un tráfico de llegada constante.
+public class PruebaCarga {
+
+    private static final List<String> RUTAS_POR_DEFECTO = List.of(
+            "/api/eventos?limit=50",
+            "/api/eventos?fields=id,nombre,fechaInicio&limit=100",
+            "/api/eventos?categoria=Cultural",
+            "/api/eventos/search?q=taller",
+            "/api/eventos");
+
+    // Latencias registradas en microsegundos, hasta 60 s con 3 cifras significativas
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.SECONDS.toMicros(60);
+
+    private record Ruta(String ruta, URI uri, Recorder latencias, LongAdder errores) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        long eventos = Long.parseLong(argumento(args, "--eventos=", "10000"));
+        int clientes = Integer.parseInt(argumento(args, "--clientes=", "200"));
+        Duration calentamiento = Duration.parse(argumento(args, "--calentamiento=", "PT10S"));
+        Duration duracion = Duration.parse(argumento(args, "--duracion=", "PT30S"));
+        String rutasTexto = argumento(args, "--rutas=", null);
+        List<String> rutas = rutasTexto == null ? RUTAS_POR_DEFECTO : Arrays.asList(rutasTexto.split(";"));
+        // Permiten comparar Tomcat con hilos de plataforma frente a hilos virtuales + admisión a la base
+        boolean hilosVirtuales = Boolean.parseBoolean(argumento(args, "--hilos-virtuales=", "true"));
+        boolean admision = Boolean.parseBoolean(argumento(args, "--admision=", "true"));
+        // Pools de réplica apuntando a la misma base H2: mide el costo del enrutamiento de lecturas
+        int replicas = Integer.parseInt(argumento(args, "--replicas=", "0"));
+
+        ConfigurableApplicationContext contexto = iniciar(eventos, hilosVirtuales, admision, replicas);
+        int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+
+        List<Ruta> medidas = new ArrayList<>();
+        for (String ruta : rutas) {
+            medidas.add(new Ruta(ruta, URI.create("http://localhost:" + puerto + ruta),
+                    new Recorder(LATENCIA_MAXIMA_US, 3), new LongAdder()));
+        }
+
+        System.out.printf(Locale.ROOT, "%nCarga: %d eventos, %d clientes, calentamiento %s, medición %s, "
+                        + "hilos %s, admisión %s, réplicas %d%n",
+                eventos, clientes, calentamiento, duracion, hilosVirtuales ? "virtuales" : "de plataforma",
+                admision ? "sí" : "no", replicas);
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        long finCalentamiento = System.nanoTime() + calentamiento.toNanos();
+        long fin = finCalentamiento + duracion.toNanos();
+        AtomicLong siguiente = new AtomicLong();
+
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clientes; i++) {
+                hilos.submit(() -> cliente(http, medidas, siguiente, fin));
+            }
+            // Lo registrado durante el calentamiento se descarta
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, finCalentamiento - System.nanoTime()));
+            for (Ruta ruta : medidas) {
+                ruta.latencias().reset();
+                ruta.errores().reset();
+            }
+        }
+
+        reportar(medidas, duracion);
+        contexto.close();
+        System.exit(0);
+    }
+
+    private static void cliente(HttpClient http, List<Ruta> rutas, AtomicLong siguiente, long fin) {
+        while (System.nanoTime() < fin) {
+            Ruta ruta = rutas.get((int) (siguiente.getAndIncrement() % rutas.size()));
+            HttpRequest peticion = HttpRequest.newBuilder(ruta.uri())
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            long inicio = System.nanoTime();
+            try {
+                HttpResponse<Void> respuesta = http.send(peticion, HttpResponse.BodyHandlers.discarding());
+                if (respuesta.statusCode() >= 400) {
+                    ruta.errores().increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                ruta.errores().increment();
+            }
+            long latencia = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio);
+            ruta.latencias().recordValue(Math.min(latencia, LATENCIA_MAXIMA_US));
+        }
+    }
+
+    private static ConfigurableApplicationContext iniciar(long eventos, boolean hilosVirtuales, boolean admision,
+                                                          int replicas) throws Exception {
+        String url = "jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1";
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(QueHayUtApplication.class)
+                .logStartupInfo(false)
+                // Como argumentos para que tengan prioridad sobre application.properties
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + hilosVirtuales,
+                        "--quehayut.datasource.admision.habilitada=" + admision,
+                        // Tomcat acepta hasta 8192 conexiones por defecto; se sube para probar con 10k clientes
+                        "--server.tomcat.max-connections=20000",
+                        "--server.tomcat.accept-count=2000",
+                        "--spring.datasource.url=" + url,
+                        "--quehayut.datasource.lectura.urls=" + String.join(",", Collections.nCopies(replicas, url)),
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--quehayut.recordatorios.habilitado=false",
+                        "--quehayut.eventos.ciclo-vida.habilitado=false",
+                        "--logging.level.root=WARN");
+
+        long inicio = System.nanoTime();
+        contexto.getBean(GeneradorDatosMasivos.class)
+                .generar(eventos, 42, Math.min(8, Runtime.getRuntime().availableProcessors()));
+        // Los datos se insertaron por JDBC después del arranque: reconstruir índices, el listado
+        // precalculado (armado al arrancar con la tabla vacía) y vaciar la caché
+        contexto.getBean(IndiceBusquedaEventos.class).construir();
+        contexto.getBean(IndiceCategoriasEventos.class).construir();
+        contexto.getBean(IndiceIntervalosEventos.class).construir();
+        contexto.getBean(RespuestaListadoEventos.class).reconstruirYEsperar();
+        Cache cache = contexto.getBean(CacheManager.class).getCache(EventoService.CACHE_EVENTOS);
+        if (cache != null) {
+            cache.clear();
+        }
+        System.out.printf(Locale.ROOT, "Datos generados en %d ms%n",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return contexto;
+    }
+
+    private static void reportar(List<Ruta> rutas, Duration duracion) {
+        double segundos = duracion.toMillis() / 1000.0;
+        Histogram total = new Histogram(LATENCIA_MAXIMA_US, 3);
+        long erroresTotales = 0;
+
+        String formato = "%-55s %10s %10s %9s %9s %9s %9s %8s%n";
+        System.out.printf(Locale.ROOT, "%n" + formato, "Ruta", "Peticiones", "Req/s", "p50 ms", "p99 ms",
+                "p99.9 ms", "max ms", "Errores");
+        for (Ruta ruta : rutas) {
+            Histogram histograma = ruta.latencias().getIntervalHistogram();
+            long errores = ruta.errores().sum();
+            total.add(histograma);
+            erroresTotales += errores;
+            imprimirFila(formato, ruta.ruta(), histograma, errores, segundos);
+        }
+        imprimirFila(formato, "TOTAL", total, erroresTotales, segundos);
+        System.out.println();
+    }
+
+    private static void imprimirFila(String formato, String nombre, Histogram histograma, long errores,
+                                     double segundos) {
+        System.out.printf(Locale.ROOT, formato,
+                nombre.length() > 55 ? nombre.substring(0, 52) + "..." : nombre,
+                histograma.getTotalCount(),
+                String.format(Locale.ROOT, "%.1f", histograma.getTotalCount() / segundos),
+                milisegundos(histograma.getValueAtPercentile(50)),
+                milisegundos(histograma.getValueAtPercentile(99)),
+                milisegundos(histograma.getValueAtPercentile(99.9)),
+                milisegundos(histograma.getMaxValue()),
+                errores);
+    }
+
+    private static String milisegundos(long microsegundos) {
+        return String.format(Locale.ROOT, "%.2f", microsegundos / 1000.0);
+    }
+
+    private static String argumento(String[] args, String prefijo, String porDefecto) {
+        return Arrays.stream(args)
+                .filter(arg -> arg.startsWith(prefijo))
+                .map(arg -> arg.substring(prefijo.length()))
+                .findFirst()
+                .orElse(porDefecto);
+    }
+}
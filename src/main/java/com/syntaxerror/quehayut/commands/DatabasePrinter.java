@@ -1,48 +1,79 @@
 package com.syntaxerror.quehayut.commands;
 
-import com.syntaxerror.quehayut.models.*;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.syntaxerror.quehayut.repositories.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
 
+// Reporte de --show. Cada tabla se lee con una sola consulta de columnas planas en streaming
+// (con JOIN para las relaciones), así que la memoria no crece con el tamaño de la base.
+// Opciones: --limit=N por tabla, --format=text|csv|json y --output=<ruta>
+// (archivo para text/json, directorio con un archivo por tabla para csv).
 @Component
 @Order(2)
 public class DatabasePrinter implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabasePrinter.class);
-    
+
+    private static final int LARGO_MAXIMO_TEXTO = 100;
+
     private final UsuarioRepository usuarioRepository;
     private final CategoriaRepository categoriaRepository;
     private final EventoRepository eventoRepository;
     private final RecordatorioRepository recordatorioRepository;
     private final EventoCategoriaRepository eventoCategoriaRepository;
+    private final ObjectMapper objectMapper;
 
     public DatabasePrinter(
             UsuarioRepository usuarioRepository,
             CategoriaRepository categoriaRepository,
             EventoRepository eventoRepository,
             RecordatorioRepository recordatorioRepository,
-            EventoCategoriaRepository eventoCategoriaRepository
+            EventoCategoriaRepository eventoCategoriaRepository,
+            ObjectMapper objectMapper
     ) {
         this.usuarioRepository = usuarioRepository;
         this.categoriaRepository = categoriaRepository;
         this.eventoRepository = eventoRepository;
         this.recordatorioRepository = recordatorioRepository;
         this.eventoCategoriaRepository = eventoCategoriaRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Descripción de una tabla del reporte: columnas (claves en csv/json), etiquetas para texto y su consulta
+    private record Tabla(String nombre, String titulo, String vacia, List<String> columnas, List<String> etiquetas,
+                         LongSupplier total, Function<Limit, Stream<Object[]>> filas) {
     }
 
     @Override
     @Transactional(readOnly = true)
     public void run(String... args) throws Exception {
         // Solo ejecutar si se pasa el argumento --show, show o db:show
-        boolean shouldShow = Arrays.asList(args).contains("--show") || 
+        boolean shouldShow = Arrays.asList(args).contains("--show") ||
                             Arrays.asList(args).contains("show") ||
                             Arrays.stream(args).anyMatch(arg -> arg.equals("db:show"));
 
@@ -50,147 +81,192 @@ public class DatabasePrinter implements CommandLineRunner {
             return;
         }
 
-        System.out.println("\n" + "=".repeat(80));
-        System.out.println("                  REGISTROS DE LA BASE DE DATOS");
-        System.out.println("=".repeat(80) + "\n");
-
-        // Imprimir Usuarios
-        printUsuarios();
-        
-        // Imprimir Categorías
-        printCategorias();
-        
-        // Imprimir Eventos
-        printEventos();
-        
-        // Imprimir Eventos-Categorías
-        printEventosCategorias();
-        
-        // Imprimir Recordatorios
-        printRecordatorios();
-
-        System.out.println("\n" + "=".repeat(80));
-        System.out.println("                            FIN DEL REPORTE");
-        System.out.println("=".repeat(80) + "\n");
-        
+        String limiteTexto = argumento(args, "--limit=");
+        Limit limite = limiteTexto == null ? Limit.unlimited() : Limit.of(Integer.parseInt(limiteTexto));
+        String formato = argumento(args, "--format=");
+        formato = formato == null ? "text" : formato.toLowerCase(Locale.ROOT);
+        String salida = argumento(args, "--output=");
+        List<Tabla> tablas = tablas();
+
+        switch (formato) {
+            case "text" -> {
+                try (PrintWriter writer = abrirTexto(salida)) {
+                    imprimirTexto(writer, tablas, limite);
+                }
+            }
+            case "json" -> escribirJson(salida, tablas, limite);
+            case "csv" -> {
+                if (salida == null) {
+                    throw new IllegalArgumentException("--format=csv requiere --output=<directorio>");
+                }
+                escribirCsv(Path.of(salida), tablas, limite);
+            }
+            default -> throw new IllegalArgumentException("Formato no soportado: " + formato + " (text, csv, json)");
+        }
+        if (salida != null) {
+            logger.info("Reporte {} escrito en {}", formato, Path.of(salida).toAbsolutePath());
+        }
+
         // Terminar la aplicación después de imprimir
         System.exit(0);
     }
 
-    private void printUsuarios() {
-        List<Usuario> usuarios = usuarioRepository.findAll();
-        System.out.println("\n" + "─".repeat(80));
-        System.out.println("USUARIOS (Total: " + usuarios.size() + ")");
-        System.out.println("─".repeat(80));
-        
-        if (usuarios.isEmpty()) {
-            System.out.println("  No hay usuarios registrados.");
-        } else {
-            for (Usuario usuario : usuarios) {
-                System.out.println("\n  ID: " + usuario.getId());
-                System.out.println("  Nombre completo: " + 
-                    usuario.getPrimerNombre() + " " + 
-                    (usuario.getSegundoNombre() != null ? usuario.getSegundoNombre() + " " : "") +
-                    usuario.getPrimerApellido() + " " +
-                    (usuario.getSegundoApellido() != null ? usuario.getSegundoApellido() : ""));
-                System.out.println("  Fecha de nacimiento: " + 
-                    (usuario.getFechaDeNacimiento() != null ? usuario.getFechaDeNacimiento() : "N/A"));
-                System.out.println("  Teléfono: " + 
-                    (usuario.getTelefono() != null ? usuario.getTelefono() : "N/A"));
-                System.out.println("  Creado: " + usuario.getCreatedAt());
-            }
+    private List<Tabla> tablas() {
+        return List.of(
+                new Tabla("usuarios", "USUARIOS", "No hay usuarios registrados.",
+                        List.of("id", "primer_nombre", "segundo_nombre", "primer_apellido", "segundo_apellido",
+                                "fecha_de_nacimiento", "telefono", "creado_en"),
+                        List.of("ID", "Primer nombre", "Segundo nombre", "Primer apellido", "Segundo apellido",
+                                "Fecha de nacimiento", "Teléfono", "Creado"),
+                        usuarioRepository::count, usuarioRepository::streamReporte),
+                new Tabla("categorias", "CATEGORÍAS", "No hay categorías registradas.",
+                        List.of("id", "nombre", "descripcion", "estado", "creado_en"),
+                        List.of("ID", "Nombre", "Descripción", "Estado", "Creado"),
+                        categoriaRepository::count, categoriaRepository::streamReporte),
+                new Tabla("eventos", "EVENTOS", "No hay eventos registrados.",
+                        List.of("id", "nombre", "descripcion", "ubicacion", "fecha_inicio", "fecha_fin", "estado",
+                                "organizador", "creado_en"),
+                        List.of("ID", "Nombre", "Descripción", "Ubicación", "Fecha inicio", "Fecha fin", "Estado",
+                                "Organizador", "Creado"),
+                        eventoRepository::count, eventoRepository::streamReporte),
+                new Tabla("eventos_categorias", "EVENTOS-CATEGORÍAS", "No hay asociaciones eventos-categorías.",
+                        List.of("id", "evento_id", "evento_nombre", "categoria_id", "categoria_nombre", "creado_en"),
+                        List.of("ID", "Evento ID", "Evento", "Categoría ID", "Categoría", "Creado"),
+                        eventoCategoriaRepository::count, eventoCategoriaRepository::streamReporte),
+                new Tabla("recordatorios", "RECORDATORIOS", "No hay recordatorios registrados.",
+                        List.of("id", "usuario_id", "usuario_nombre", "usuario_apellido", "evento_id",
+                                "evento_nombre", "estado", "intentos", "creado_en"),
+                        List.of("ID", "Usuario ID", "Nombre", "Apellido", "Evento ID", "Evento", "Estado",
+                                "Intentos", "Creado"),
+                        recordatorioRepository::count, recordatorioRepository::streamReporte)
+        );
+    }
+
+    private PrintWriter abrirTexto(String salida) throws IOException {
+        if (salida == null) {
+            // No se cierra System.out al terminar
+            return new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)) {
+                @Override
+                public void close() {
+                    flush();
+                }
+            };
         }
+        return new PrintWriter(Files.newBufferedWriter(Path.of(salida), StandardCharsets.UTF_8));
     }
 
-    private void printCategorias() {
-        List<Categoria> categorias = categoriaRepository.findAll();
-        System.out.println("\n" + "─".repeat(80));
-        System.out.println("CATEGORÍAS (Total: " + categorias.size() + ")");
-        System.out.println("─".repeat(80));
-        
-        if (categorias.isEmpty()) {
-            System.out.println("  No hay categorías registradas.");
-        } else {
-            for (Categoria categoria : categorias) {
-                System.out.println("\n  ID: " + categoria.getId());
-                System.out.println("  Nombre: " + categoria.getNombre());
-                System.out.println("  Descripción: " + 
-                    (categoria.getDescripcion() != null ? categoria.getDescripcion() : "N/A"));
-                System.out.println("  Estado: " + categoria.getEstado());
-                System.out.println("  Creado: " + categoria.getCreatedAt());
+    private void imprimirTexto(PrintWriter out, List<Tabla> tablas, Limit limite) {
+        out.println("\n" + "=".repeat(80));
+        out.println("                  REGISTROS DE LA BASE DE DATOS");
+        out.println("=".repeat(80) + "\n");
+
+        for (Tabla tabla : tablas) {
+            long total = tabla.total().getAsLong();
+            out.println("\n" + "─".repeat(80));
+            out.println(tabla.titulo() + " (Total: " + total + ")"
+                    + (limite.isLimited() && total > limite.max() ? " - mostrando " + limite.max() : ""));
+            out.println("─".repeat(80));
+
+            if (total == 0) {
+                out.println("  " + tabla.vacia());
+                continue;
+            }
+            try (Stream<Object[]> filas = tabla.filas().apply(limite)) {
+                filas.forEach(fila -> {
+                    out.println();
+                    for (int i = 0; i < fila.length; i++) {
+                        out.println("  " + tabla.etiquetas().get(i) + ": " + textoCorto(fila[i]));
+                    }
+                });
             }
         }
+
+        out.println("\n" + "=".repeat(80));
+        out.println("                            FIN DEL REPORTE");
+        out.println("=".repeat(80) + "\n");
     }
 
-    private void printEventos() {
-        List<Evento> eventos = eventoRepository.findAll();
-        System.out.println("\n" + "─".repeat(80));
-        System.out.println("EVENTOS (Total: " + eventos.size() + ")");
-        System.out.println("─".repeat(80));
-        
-        if (eventos.isEmpty()) {
-            System.out.println("  No hay eventos registrados.");
-        } else {
-            for (Evento evento : eventos) {
-                System.out.println("\n  ID: " + evento.getId());
-                System.out.println("  Nombre: " + evento.getNombre());
-                System.out.println("  Descripción: " + 
-                    (evento.getDescripcion() != null && evento.getDescripcion().length() > 100 
-                        ? evento.getDescripcion().substring(0, 100) + "..." 
-                        : (evento.getDescripcion() != null ? evento.getDescripcion() : "N/A")));
-                System.out.println("  Ubicación: " + 
-                    (evento.getUbicacion() != null ? evento.getUbicacion() : "N/A"));
-                System.out.println("  Fecha inicio: " + evento.getFechaInicio());
-                System.out.println("  Fecha fin: " + 
-                    (evento.getFechaFin() != null ? evento.getFechaFin() : "N/A"));
-                System.out.println("  Estado: " + evento.getEstado());
-                System.out.println("  Organizador: " + 
-                    (evento.getOrganizador() != null ? evento.getOrganizador() : "N/A"));
-                System.out.println("  Creado: " + evento.getCreatedAt());
+    // {"usuarios": [{...}, ...], "categorias": [...], ...} escrito fila por fila
+    private void escribirJson(String salida, List<Tabla> tablas, Limit limite) throws IOException {
+        OutputStream destino = salida == null ? System.out : Files.newOutputStream(Path.of(salida));
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(destino, JsonEncoding.UTF8)) {
+            if (salida == null) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            }
+            json.writeStartObject();
+            for (Tabla tabla : tablas) {
+                json.writeArrayFieldStart(tabla.nombre());
+                try (Stream<Object[]> filas = tabla.filas().apply(limite)) {
+                    Iterator<Object[]> iterador = filas.iterator();
+                    while (iterador.hasNext()) {
+                        Object[] fila = iterador.next();
+                        json.writeStartObject();
+                        for (int i = 0; i < fila.length; i++) {
+                            json.writeFieldName(tabla.columnas().get(i));
+                            json.writeObject(fila[i]);
+                        }
+                        json.writeEndObject();
+                    }
+                }
+                json.writeEndArray();
             }
+            json.writeEndObject();
+        }
+        if (salida == null) {
+            System.out.println();
         }
     }
 
-    private void printEventosCategorias() {
-        List<EventoCategoria> eventosCategorias = eventoCategoriaRepository.findAll();
-        System.out.println("\n" + "─".repeat(80));
-        System.out.println("EVENTOS-CATEGORÍAS (Total: " + eventosCategorias.size() + ")");
-        System.out.println("─".repeat(80));
-        
-        if (eventosCategorias.isEmpty()) {
-            System.out.println("  No hay asociaciones eventos-categorías.");
-        } else {
-            for (EventoCategoria ec : eventosCategorias) {
-                System.out.println("\n  ID: " + ec.getId());
-                System.out.println("  Evento ID: " + ec.getEvento().getId() + 
-                    " - " + ec.getEvento().getNombre());
-                System.out.println("  Categoría ID: " + ec.getCategoria().getId() + 
-                    " - " + ec.getCategoria().getNombre());
-                System.out.println("  Creado: " + ec.getCreatedAt());
+    // Un archivo <tabla>.csv por tabla (RFC 4180)
+    private void escribirCsv(Path directorio, List<Tabla> tablas, Limit limite) throws IOException {
+        Files.createDirectories(directorio);
+        for (Tabla tabla : tablas) {
+            try (BufferedWriter writer = Files.newBufferedWriter(directorio.resolve(tabla.nombre() + ".csv"),
+                    StandardCharsets.UTF_8);
+                 Stream<Object[]> filas = tabla.filas().apply(limite)) {
+                writer.write(String.join(",", tabla.columnas()));
+                writer.write("\r\n");
+                filas.forEach(fila -> {
+                    try {
+                        for (int i = 0; i < fila.length; i++) {
+                            if (i > 0) {
+                                writer.write(',');
+                            }
+                            writer.write(campoCsv(fila[i]));
+                        }
+                        writer.write("\r\n");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
             }
         }
     }
 
-    private void printRecordatorios() {
-        List<Recordatorio> recordatorios = recordatorioRepository.findAll();
-        System.out.println("\n" + "─".repeat(80));
-        System.out.println("RECORDATORIOS (Total: " + recordatorios.size() + ")");
-        System.out.println("─".repeat(80));
-        
-        if (recordatorios.isEmpty()) {
-            System.out.println("  No hay recordatorios registrados.");
-        } else {
-            for (Recordatorio recordatorio : recordatorios) {
-                System.out.println("\n  ID: " + recordatorio.getId());
-                System.out.println("  Usuario ID: " + recordatorio.getUsuario().getId() + 
-                    " - " + recordatorio.getUsuario().getPrimerNombre() + " " + 
-                    recordatorio.getUsuario().getPrimerApellido());
-                System.out.println("  Evento ID: " + recordatorio.getEvento().getId() + 
-                    " - " + recordatorio.getEvento().getNombre());
-                System.out.println("  Estado: " + recordatorio.getEstado());
-                System.out.println("  Creado: " + recordatorio.getCreatedAt());
-            }
+    private static String campoCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
         }
+        return texto;
+    }
+
+    private static String textoCorto(Object valor) {
+        if (valor == null) {
+            return "N/A";
+        }
+        String texto = valor.toString();
+        return texto.length() > LARGO_MAXIMO_TEXTO ? texto.substring(0, LARGO_MAXIMO_TEXTO) + "..." : texto;
     }
-}
 
+    private static String argumento(String[] args, String prefijo) {
+        return Arrays.stream(args)
+                .filter(arg -> arg.startsWith(prefijo))
+                .map(arg -> arg.substring(prefijo.length()))
+                .findFirst()
+                .orElse(null);
+    }
+}
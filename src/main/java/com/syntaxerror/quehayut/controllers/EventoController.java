@@ -1,27 +1,246 @@
 package com.syntaxerror.quehayut.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syntaxerror.quehayut.dto.CursorEvento;
+import com.syntaxerror.quehayut.dto.EventoNuevo;
+import com.syntaxerror.quehayut.dto.FiltroEventos;
+import com.syntaxerror.quehayut.dto.PaginaEventos;
+import com.syntaxerror.quehayut.dto.ResultadoCargaMasiva;
 import com.syntaxerror.quehayut.models.Evento;
 import com.syntaxerror.quehayut.repositories.EventoRepository;
+import com.syntaxerror.quehayut.services.CargaMasivaEventos;
+import com.syntaxerror.quehayut.services.EventoService;
+import com.syntaxerror.quehayut.services.RespuestaListadoEventos;
+import com.syntaxerror.quehayut.services.StreamCambiosEventos;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "*")
 public class EventoController {
 
+    private static final int LIMITE_POR_DEFECTO = 50;
+    private static final int LIMITE_MAXIMO = 500;
+    private static final int EVENTOS_POR_FLUSH = 500;
+    private static final int RESULTADOS_BUSQUEDA_MAXIMO = 100;
+
     @Autowired
     private EventoRepository eventoRepository;
 
+    @Autowired
+    private EventoService eventoService;
+
+    @Autowired
+    private CargaMasivaEventos cargaMasivaEventos;
+
+    @Autowired
+    private RespuestaListadoEventos respuestaListadoEventos;
+
+    @Autowired
+    private StreamCambiosEventos streamCambiosEventos;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Sin @Transactional: cada método de EventoService abre su propia transacción y el
+    // listado precalculado se responde sin tomar una conexión
     @GetMapping("/eventos")
+    public ResponseEntity<?> eventos(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "categoria", required = false) List<String> categoria,
+            @RequestParam(value = "modo", defaultValue = "any") String modo,
+            @RequestParam(value = "desde", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(value = "hasta", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        boolean paginado = limit != null || cursor != null;
+        Integer tamano = paginado
+                ? (limit == null ? LIMITE_POR_DEFECTO : Math.min(Math.max(limit, 1), LIMITE_MAXIMO))
+                : null;
+        CursorEvento posicion = cursor == null ? null : decodificarCursor(cursor);
+
+        // Con filtros se aplican igual la paginación y ?fields=, sobre los eventos filtrados
+        boolean porCategoria = categoria != null && !categoria.isEmpty();
+        FiltroEventos filtro = porCategoria || desde != null || hasta != null
+                ? new FiltroEventos(categoria, modoTodas(modo), desde, hasta)
+                : null;
+
+        if (fields != null) {
+            List<String> campos = parsearCampos(fields);
+            PaginaEventos<Map<String, Object>> pagina = filtro == null
+                    ? eventoService.proyeccion(campos, posicion, tamano)
+                    : eventoService.proyeccionFiltrada(filtro, campos, posicion, tamano);
+            return ResponseEntity.ok(paginado ? pagina : pagina.eventos());
+        }
+
+        if (filtro != null) {
+            return ResponseEntity.ok(paginado
+                    ? eventoService.paginaFiltrada(filtro, posicion, tamano)
+                    : eventoService.filtrar(filtro));
+        }
+
+        // Sin parámetros de paginación se mantiene el listado completo
+        if (!paginado) {
+            Optional<RespuestaListadoEventos.Variantes> precalculada = respuestaListadoEventos.actual();
+            if (precalculada.isPresent()) {
+                return respuestaPrecalculada(precalculada.get(), acceptEncoding, ifNoneMatch);
+            }
+            return ResponseEntity.ok(eventoService.listarTodos());
+        }
+        return ResponseEntity.ok(eventoService.pagina(posicion, tamano));
+    }
+
+    @PostMapping("/eventos/bulk")
+    public ResponseEntity<ResultadoCargaMasiva> cargaMasiva(@RequestBody List<EventoNuevo> eventos) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(cargaMasivaEventos.cargar(eventos));
+    }
+
+    @GetMapping("/eventos/search")
+    public List<Evento> buscar(
+            @RequestParam("q") String q,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return eventoService.buscar(q, Math.min(Math.max(limit, 1), RESULTADOS_BUSQUEDA_MAXIMO));
+    }
+
+    // Cambios de eventos por SSE. Al reconectar, EventSource manda Last-Event-ID y se sigue desde ahí
+    @GetMapping(value = "/eventos/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String ultimoEvento) {
+        Long ultimoRecibido = ultimoEvento == null || ultimoEvento.isBlank() ? null : parsearUltimoEvento(ultimoEvento);
+        return streamCambiosEventos.suscribir(ultimoRecibido)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Se alcanzó el máximo de suscriptores del stream"));
+    }
+
+    @GetMapping(value = "/eventos/export", produces = "application/x-ndjson")
     @Transactional(readOnly = true)
-    public List<Evento> eventos() {
-        return eventoRepository.findAll();
+    public void exportar(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream salida = response.getOutputStream();
+
+        // Cada evento se escribe y se desprende del contexto de persistencia,
+        // así la memoria usada no depende del tamaño de la tabla
+        int escritos = 0;
+        try (Stream<Evento> eventos = eventoRepository.streamTodos()) {
+            Iterator<Evento> iterador = eventos.iterator();
+            while (iterador.hasNext()) {
+                Evento evento = iterador.next();
+                salida.write(objectMapper.writeValueAsBytes(evento));
+                salida.write('\n');
+                entityManager.detach(evento);
+
+                if (++escritos % EVENTOS_POR_FLUSH == 0) {
+                    salida.flush();
+                }
+            }
+        }
+        salida.flush();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> solicitudInvalida(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // Copia los bytes de la variante que pide Accept-Encoding, sin serializar ni comprimir
+    private ResponseEntity<byte[]> respuestaPrecalculada(
+            RespuestaListadoEventos.Variantes variantes, String acceptEncoding, String ifNoneMatch) {
+        String codificacion = RespuestaListadoEventos.codificacionPreferida(acceptEncoding);
+        String etag = variantes.etag(codificacion);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        byte[] cuerpo = variantes.cuerpo(codificacion);
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(cuerpo.length)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!RespuestaListadoEventos.IDENTITY.equals(codificacion)) {
+            respuesta.header(HttpHeaders.CONTENT_ENCODING, codificacion);
+        }
+        return respuesta.body(cuerpo);
+    }
+
+    private boolean modoTodas(String modo) {
+        return switch (modo) {
+            case "all" -> true;
+            case "any" -> false;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Modo inválido: " + modo);
+        };
+    }
+
+    private List<String> parsearCampos(String fields) {
+        List<String> campos = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(campo -> !campo.isEmpty())
+                .distinct()
+                .toList();
+        if (campos.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El parámetro fields está vacío");
+        }
+        for (String campo : campos) {
+            if (!EventoService.CAMPOS_PROYECTABLES.contains(campo)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo desconocido: " + campo);
+            }
+        }
+        return campos;
+    }
+
+    private Long parsearUltimoEvento(String ultimoEvento) {
+        try {
+            return Long.valueOf(ultimoEvento.trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Last-Event-ID inválido: " + ultimoEvento);
+        }
+    }
+
+    private CursorEvento decodificarCursor(String cursor) {
+        try {
+            return CursorEvento.decodificar(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 }
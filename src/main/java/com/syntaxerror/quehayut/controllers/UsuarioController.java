@@ -0,0 +1,27 @@
+package com.syntaxerror.quehayut.controllers;
+
+import com.syntaxerror.quehayut.dto.AgendaUsuario;
+import com.syntaxerror.quehayut.services.AgendaUsuarios;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class UsuarioController {
+
+    @Autowired
+    private AgendaUsuarios agendaUsuarios;
+
+    @GetMapping("/usuarios/{id}/agenda")
+    public ResponseEntity<AgendaUsuario> agenda(@PathVariable("id") Long id) {
+        return agendaUsuarios.agenda(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,94 @@
+package com.syntaxerror.quehayut.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Limita las conexiones prestadas a la vez con un semáforo justo del tamaño del pool.
+// Con hilos virtuales puede haber miles de peticiones esperando base de datos: así esperan
+// en una cola FIFO que solo estaciona el hilo virtual (sin bloquear el hilo portador) y
+// el pool solo ve tantos pedidos como conexiones tiene.
+public class AdmisionDataSource extends DelegatingDataSource {
+
+    private final Semaphore permisos;
+    private final long esperaMaximaMs;
+
+    public AdmisionDataSource(DataSource dataSource, int conexiones, Duration esperaMaxima) {
+        super(dataSource);
+        this.permisos = new Semaphore(conexiones, true);
+        this.esperaMaximaMs = esperaMaxima.toMillis();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        return conPermiso(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        return conPermiso(() -> super.getConnection(username, password));
+    }
+
+    public int disponibles() {
+        return permisos.availablePermits();
+    }
+
+    public int esperando() {
+        return permisos.getQueueLength();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permisos.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No hubo conexión disponible en " + esperaMaximaMs + " ms (" + esperando() + " en espera)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexión", e);
+        }
+    }
+
+    private interface Apertura {
+        Connection abrir() throws SQLException;
+    }
+
+    // El permiso se devuelve al cerrar la conexión (una sola vez aunque close() se llame de nuevo)
+    private Connection conPermiso(Apertura apertura) throws SQLException {
+        Connection conexion;
+        try {
+            conexion = apertura.abrir();
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("close") && liberada.compareAndSet(false, true)) {
+                        try {
+                            conexion.close();
+                        } finally {
+                            permisos.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(conexion, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,35 @@
+package com.syntaxerror.quehayut.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Pone AdmisionDataSource delante del pool Hikari, con tantos permisos como conexiones.
+// Corre antes que los demás post-procesadores para ver el HikariDataSource sin envolver.
+@Component
+@ConditionalOnProperty(name = "quehayut.datasource.admision.habilitada", havingValue = "true", matchIfMissing = true)
+public class AdmisionDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmisionDataSourcePostProcessor.class);
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String nombre) {
+        if (bean instanceof HikariDataSource hikari) {
+            int conexiones = hikari.getMaximumPoolSize();
+            logger.info("Admisión a la base de datos '{}' limitada a {} conexiones", nombre, conexiones);
+            return new AdmisionDataSource(hikari, conexiones, Duration.ofMillis(hikari.getConnectionTimeout()));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,146 @@
+package com.syntaxerror.quehayut.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Envía las transacciones de solo lectura a las réplicas, en round-robin entre las sanas, y el resto
+// (escrituras, código sin transacción, LecturaPrimaria) a la primaria. Sin réplicas sanas todo va a la primaria.
+// Tiene que ir detrás de un LazyConnectionDataSourceProxy: la conexión real se pide en la primera
+// sentencia, cuando la transacción ya está marcada como de solo lectura.
+public class EnrutamientoLecturaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrutamientoLecturaDataSource.class);
+
+    private final DataSource primaria;
+    private final List<Replica> replicas;
+    private final AtomicInteger siguiente = new AtomicInteger();
+    private final ScheduledExecutorService salud;
+
+    static final class Replica {
+
+        private final String nombre;
+        private final DataSource dataSource;
+        private final AutoCloseable pool;
+        private volatile boolean sana = true;
+
+        Replica(String nombre, DataSource dataSource, AutoCloseable pool) {
+            this.nombre = nombre;
+            this.dataSource = dataSource;
+            this.pool = pool;
+        }
+    }
+
+    EnrutamientoLecturaDataSource(DataSource primaria, List<Replica> replicas, Duration intervaloSalud) {
+        this.primaria = primaria;
+        this.replicas = List.copyOf(replicas);
+        this.salud = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "salud-replicas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long intervaloMs = intervaloSalud.toMillis();
+        salud.scheduleWithFixedDelay(this::revisarReplicas, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = elegirReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                // Pool que no pudo abrirse o réplica caída: esta lectura va a la primaria
+                marcar(replica, false, e);
+            }
+        }
+        return primaria.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = elegirReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection(username, password);
+            } catch (SQLException | RuntimeException e) {
+                marcar(replica, false, e);
+            }
+        }
+        return primaria.getConnection(username, password);
+    }
+
+    // null si la conexión tiene que ir a la primaria
+    private Replica elegirReplica() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || LecturaPrimaria.activa()) {
+            return null;
+        }
+        int inicio = Math.floorMod(siguiente.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (replica.sana) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // Una réplica caída vuelve a recibir lecturas cuando responde de nuevo
+    private void revisarReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection conexion = replica.dataSource.getConnection()) {
+                marcar(replica, conexion.isValid(2), null);
+            } catch (SQLException | RuntimeException e) {
+                marcar(replica, false, e);
+            }
+        }
+    }
+
+    private void marcar(Replica replica, boolean sana, Exception causa) {
+        if (replica.sana == sana) {
+            return;
+        }
+        replica.sana = sana;
+        if (sana) {
+            logger.info("Réplica {} disponible de nuevo para lecturas", replica.nombre);
+        } else {
+            logger.warn("Réplica {} fuera de servicio, sus lecturas van a otra réplica o a la primaria: {}",
+                    replica.nombre, causa == null ? "conexión no válida" : causa.getMessage());
+        }
+    }
+
+    // Quien busca el HikariDataSource (métricas del pool, admisión) obtiene el de la primaria
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primaria.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primaria.isWrapperFor(iface);
+    }
+
+    @Override
+    public void close() throws Exception {
+        salud.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.syntaxerror.quehayut.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Con quehayut.datasource.lectura.urls configurado, el DataSource de la aplicación pasa a ser
+// LazyConnectionDataSourceProxy -> EnrutamientoLecturaDataSource -> {primaria, réplicas}.
+// Cada réplica tiene su propio pool Hikari con la configuración de la primaria (y su admisión si está activa).
+// Corre después de la admisión y antes que el proxy de consultas lentas, que queda por fuera.
+@Component
+public class EnrutamientoLecturaPostProcessor implements BeanPostProcessor, Ordered, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrutamientoLecturaPostProcessor.class);
+
+    private final List<String> urls;
+    private final String usuario;
+    private final String clave;
+    private final Duration intervaloSalud;
+    private final List<EnrutamientoLecturaDataSource> creados = new ArrayList<>();
+
+    public EnrutamientoLecturaPostProcessor(
+            @Value("${quehayut.datasource.lectura.urls:}") String urls,
+            @Value("${quehayut.datasource.lectura.username:}") String usuario,
+            @Value("${quehayut.datasource.lectura.password:}") String clave,
+            @Value("${quehayut.datasource.lectura.intervalo-salud:PT5S}") Duration intervaloSalud
+    ) {
+        this.urls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        this.usuario = usuario;
+        this.clave = clave;
+        this.intervaloSalud = intervaloSalud;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String nombre) {
+        if (urls.isEmpty()) {
+            return bean;
+        }
+        HikariDataSource primaria = hikari(bean);
+        if (primaria == null) {
+            return bean;
+        }
+        List<EnrutamientoLecturaDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = crearPool(primaria, urls.get(i), i + 1);
+            DataSource replica = bean instanceof AdmisionDataSource
+                    ? new AdmisionDataSource(pool, pool.getMaximumPoolSize(), Duration.ofMillis(pool.getConnectionTimeout()))
+                    : pool;
+            replicas.add(new EnrutamientoLecturaDataSource.Replica(pool.getPoolName(), replica, pool));
+        }
+        EnrutamientoLecturaDataSource enrutamiento =
+                new EnrutamientoLecturaDataSource((DataSource) bean, replicas, intervaloSalud);
+        creados.add(enrutamiento);
+        logger.info("Transacciones de solo lectura de '{}' repartidas entre {} réplicas: {}", nombre, urls.size(), urls);
+        return new LazyConnectionDataSourceProxy(enrutamiento);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (EnrutamientoLecturaDataSource enrutamiento : creados) {
+            enrutamiento.close();
+        }
+    }
+
+    private static HikariDataSource hikari(Object bean) {
+        if (bean instanceof HikariDataSource hikari) {
+            return hikari;
+        }
+        if (bean instanceof AdmisionDataSource admision && admision.getTargetDataSource() instanceof HikariDataSource hikari) {
+            return hikari;
+        }
+        return null;
+    }
+
+    // El pool no se abre hasta la primera conexión, así una réplica caída no impide arrancar
+    private HikariDataSource crearPool(HikariDataSource primaria, String url, int numero) {
+        HikariConfig config = new HikariConfig();
+        primaria.copyStateTo(config);
+        config.setJdbcUrl(url);
+        config.setPoolName((primaria.getPoolName() == null ? "HikariPool" : primaria.getPoolName()) + "-replica-" + numero);
+        config.setReadOnly(true);
+        if (!usuario.isEmpty()) {
+            config.setUsername(usuario);
+            config.setPassword(clave);
+        }
+        HikariDataSource pool = new HikariDataSource();
+        config.copyStateTo(pool);
+        return pool;
+    }
+}
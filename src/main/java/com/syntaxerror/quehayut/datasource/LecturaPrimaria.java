@@ -0,0 +1,36 @@
+package com.syntaxerror.quehayut.datasource;
+
+import java.util.function.Supplier;
+
+// Manda a la primaria las transacciones de solo lectura del hilo actual. Para leer algo recién
+// confirmado, que una réplica con retraso todavía puede no tener.
+public final class LecturaPrimaria {
+
+    private static final ThreadLocal<Boolean> ACTIVA = new ThreadLocal<>();
+
+    private LecturaPrimaria() {
+    }
+
+    public static void ejecutar(Runnable accion) {
+        obtener(() -> {
+            accion.run();
+            return null;
+        });
+    }
+
+    public static <T> T obtener(Supplier<T> accion) {
+        if (activa()) {
+            return accion.get();
+        }
+        ACTIVA.set(Boolean.TRUE);
+        try {
+            return accion.get();
+        } finally {
+            ACTIVA.remove();
+        }
+    }
+
+    static boolean activa() {
+        return ACTIVA.get() != null;
+    }
+}
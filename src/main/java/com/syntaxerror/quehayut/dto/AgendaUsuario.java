@@ -0,0 +1,7 @@
+package com.syntaxerror.quehayut.dto;
+
+import java.util.List;
+
+// Respuesta de GET /api/usuarios/{id}/agenda, ordenada por fecha de inicio del evento
+public record AgendaUsuario(Long usuarioId, String nombre, List<EntradaAgenda> recordatorios) {
+}
@@ -0,0 +1,8 @@
+package com.syntaxerror.quehayut.dto;
+
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+
+// Datos de un cambio en /api/eventos/stream; evento es null si se eliminó
+public record CambioEvento(String tipo, Long id, EstadoEvento estado, EstadoEvento estadoAnterior, Evento evento) {
+}
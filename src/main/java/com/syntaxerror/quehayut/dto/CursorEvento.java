@@ -0,0 +1,33 @@
+package com.syntaxerror.quehayut.dto;
+
+import com.syntaxerror.quehayut.models.Evento;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Posición opaca dentro del listado de eventos ordenado por (fechaInicio, id)
+public record CursorEvento(LocalDateTime fechaInicio, Long id) {
+
+    public static CursorEvento de(Evento evento) {
+        return new CursorEvento(evento.getFechaInicio(), evento.getId());
+    }
+
+    public String codificar() {
+        String valor = fechaInicio + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorEvento decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            return new CursorEvento(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+}
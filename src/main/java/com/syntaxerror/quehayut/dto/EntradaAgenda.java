@@ -0,0 +1,21 @@
+package com.syntaxerror.quehayut.dto;
+
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import com.syntaxerror.quehayut.models.enums.EstadoRecordatorio;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Un recordatorio de la agenda con los datos de su evento y sus categorías
+public record EntradaAgenda(
+        Long recordatorioId,
+        EstadoRecordatorio estado,
+        Long eventoId,
+        String nombreEvento,
+        String ubicacion,
+        LocalDateTime fechaInicio,
+        LocalDateTime fechaFin,
+        EstadoEvento estadoEvento,
+        List<String> categorias
+) {
+}
@@ -0,0 +1,20 @@
+package com.syntaxerror.quehayut.dto;
+
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Evento recibido en la carga masiva, con los ids de sus categorías
+public record EventoNuevo(
+        String nombre,
+        String descripcion,
+        String ubicacion,
+        String cover,
+        LocalDateTime fechaInicio,
+        LocalDateTime fechaFin,
+        EstadoEvento estado,
+        String organizador,
+        List<Long> categorias
+) {
+}
@@ -0,0 +1,17 @@
+package com.syntaxerror.quehayut.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Filtros de GET /api/eventos: categorías (todas = true exige todas, false cualquiera) y
+// ventana de tiempo [desde, hasta]; null en un extremo deja la ventana abierta
+public record FiltroEventos(List<String> categorias, boolean todas, LocalDateTime desde, LocalDateTime hasta) {
+
+    public boolean porCategoria() {
+        return categorias != null && !categorias.isEmpty();
+    }
+
+    public boolean porVentana() {
+        return desde != null || hasta != null;
+    }
+}
@@ -0,0 +1,6 @@
+package com.syntaxerror.quehayut.dto;
+
+import java.time.LocalDateTime;
+
+public record IntervaloEvento(Long eventoId, LocalDateTime fechaInicio, LocalDateTime fechaFin) {
+}
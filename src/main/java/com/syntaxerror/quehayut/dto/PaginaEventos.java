@@ -0,0 +1,6 @@
+package com.syntaxerror.quehayut.dto;
+
+import java.util.List;
+
+public record PaginaEventos<T>(List<T> eventos, String siguienteCursor) {
+}
@@ -0,0 +1,4 @@
+package com.syntaxerror.quehayut.dto;
+
+public record ParEventoCategoria(Long eventoId, Long categoriaId) {
+}
@@ -0,0 +1,18 @@
+package com.syntaxerror.quehayut.dto;
+
+import java.time.LocalDateTime;
+
+// Datos necesarios para entregar un recordatorio, desacoplados de la sesión de Hibernate
+// para poder enviarlos desde otros hilos
+public record RecordatorioEnvio(
+        Long recordatorioId,
+        int intentos,
+        Long usuarioId,
+        String nombreUsuario,
+        String telefono,
+        Long eventoId,
+        String nombreEvento,
+        String ubicacion,
+        LocalDateTime fechaInicio
+) {
+}
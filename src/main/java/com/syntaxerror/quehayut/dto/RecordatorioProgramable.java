@@ -0,0 +1,15 @@
+package com.syntaxerror.quehayut.dto;
+
+import com.syntaxerror.quehayut.models.enums.EstadoRecordatorio;
+
+import java.time.LocalDateTime;
+
+// Lo mínimo para calcular cuándo debe dispararse un recordatorio
+public record RecordatorioProgramable(
+        Long recordatorioId,
+        EstadoRecordatorio estado,
+        Integer intentos,
+        LocalDateTime fechaInicioEvento,
+        LocalDateTime proximoIntento
+) {
+}
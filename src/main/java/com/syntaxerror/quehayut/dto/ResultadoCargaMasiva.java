@@ -0,0 +1,6 @@
+package com.syntaxerror.quehayut.dto;
+
+import java.util.List;
+
+public record ResultadoCargaMasiva(int eventos, int asociaciones, List<Long> ids) {
+}
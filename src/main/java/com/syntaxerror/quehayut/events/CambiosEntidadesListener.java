@@ -0,0 +1,31 @@
+package com.syntaxerror.quehayut.events;
+
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.EventoCategoria;
+import com.syntaxerror.quehayut.models.Recordatorio;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// Listener JPA: Hibernate lo instancia a través de Spring, por eso admite inyección
+public class CambiosEntidadesListener {
+
+    private final RegistroCambios registro;
+
+    public CambiosEntidadesListener(RegistroCambios registro) {
+        this.registro = registro;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void registrar(Object entidad) {
+        if (entidad instanceof Evento evento) {
+            registro.registrarEvento(evento.getId());
+        } else if (entidad instanceof EventoCategoria eventoCategoria && eventoCategoria.getEvento() != null) {
+            registro.registrarEvento(eventoCategoria.getEvento().getId());
+        } else if (entidad instanceof Recordatorio recordatorio) {
+            registro.registrarRecordatorio(recordatorio.getId());
+        }
+    }
+}
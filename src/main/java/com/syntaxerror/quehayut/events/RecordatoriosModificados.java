@@ -0,0 +1,13 @@
+package com.syntaxerror.quehayut.events;
+
+import java.util.List;
+import java.util.Set;
+
+// Se publica una vez por transacción confirmada con los ids de los recordatorios afectados
+public record RecordatoriosModificados(Set<Long> ids) {
+
+    // Para consultar por ids en bloques de RegistroCambios.IDS_POR_CONSULTA
+    public List<List<Long>> bloques() {
+        return RegistroCambios.enBloques(ids);
+    }
+}
@@ -0,0 +1,154 @@
+package com.syntaxerror.quehayut.events;
+
+import com.syntaxerror.quehayut.datasource.LecturaPrimaria;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class RegistroCambios {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistroCambios.class);
+
+    // Ids por consulta en los listeners: un IN con todos los ids de una transacción grande
+    // pasaría el límite de parámetros de PostgreSQL (32767)
+    public static final int IDS_POR_CONSULTA = 1000;
+
+    private final ApplicationEventPublisher publisher;
+
+    // Los cambios confirmados se publican en este hilo, en el orden de los commits: el que
+    // escribió ya devolvió su conexión y no espera a que se rehagan índices y cachés
+    private final ExecutorService publicador =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("registro-cambios").factory());
+
+    public RegistroCambios(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    // Cambios acumulados durante una transacción
+    private static class Cambios {
+        final Set<Long> eventos = new LinkedHashSet<>();
+        final Set<Long> recordatorios = new LinkedHashSet<>();
+    }
+
+    public void registrarEvento(Long eventoId) {
+        if (eventoId != null) {
+            registrarEventos(Set.of(eventoId));
+        }
+    }
+
+    public void registrarRecordatorio(Long recordatorioId) {
+        if (recordatorioId != null) {
+            registrarRecordatorios(Set.of(recordatorioId));
+        }
+    }
+
+    // Acumula los ids dentro de la transacción actual y los publica al confirmarla, desde el
+    // hilo publicador; si la transacción se revierte no se publica nada
+    public void registrarEventos(Collection<Long> eventoIds) {
+        if (eventoIds.isEmpty()) {
+            return;
+        }
+        Cambios cambios = cambiosDeLaTransaccion();
+        if (cambios == null) {
+            publicar(new EventosModificados(Set.copyOf(eventoIds)));
+        } else {
+            cambios.eventos.addAll(eventoIds);
+        }
+    }
+
+    public void registrarRecordatorios(Collection<Long> recordatorioIds) {
+        if (recordatorioIds.isEmpty()) {
+            return;
+        }
+        Cambios cambios = cambiosDeLaTransaccion();
+        if (cambios == null) {
+            publicar(new RecordatoriosModificados(Set.copyOf(recordatorioIds)));
+        } else {
+            cambios.recordatorios.addAll(recordatorioIds);
+        }
+    }
+
+    public static List<List<Long>> enBloques(Collection<Long> ids) {
+        List<Long> todos = List.copyOf(ids);
+        List<List<Long>> bloques = new ArrayList<>();
+        for (int desde = 0; desde < todos.size(); desde += IDS_POR_CONSULTA) {
+            bloques.add(todos.subList(desde, Math.min(desde + IDS_POR_CONSULTA, todos.size())));
+        }
+        return bloques;
+    }
+
+    // Los listeners releen lo que acaba de confirmarse: con réplicas de lectura tienen que ir a la
+    // primaria, porque la réplica puede no tenerlo todavía
+    private void publicar(Object cambios) {
+        LecturaPrimaria.ejecutar(() -> publisher.publishEvent(cambios));
+    }
+
+    private void publicarAlLiberar(Object cambios) {
+        publicador.execute(() -> {
+            try {
+                publicar(cambios);
+            } catch (RuntimeException e) {
+                logger.error("Error al procesar {}", cambios.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void detener() {
+        publicador.shutdown();
+    }
+
+    // null si no hay una transacción activa: en ese caso se publica de inmediato
+    private Cambios cambiosDeLaTransaccion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Cambios cambios = (Cambios) TransactionSynchronizationManager.getResource(this);
+        if (cambios == null) {
+            cambios = new Cambios();
+            TransactionSynchronizationManager.bindResource(this, cambios);
+            TransactionSynchronizationManager.registerSynchronization(new PublicarAlConfirmar(cambios));
+        }
+        return cambios;
+    }
+
+    private class PublicarAlConfirmar implements TransactionSynchronization {
+
+        private final Cambios cambios;
+
+        PublicarAlConfirmar(Cambios cambios) {
+            this.cambios = cambios;
+        }
+
+        // afterCommit corre todavía con la conexión de la transacción tomada (con la admisión
+        // activa, un permiso del semáforo): los listeners abren sus propias transacciones,
+        // así que se les pasa el trabajo a otro hilo en lugar de ejecutarlos aquí
+        @Override
+        public void afterCommit() {
+            if (!cambios.eventos.isEmpty()) {
+                publicarAlLiberar(new EventosModificados(Set.copyOf(cambios.eventos)));
+            }
+            if (!cambios.recordatorios.isEmpty()) {
+                publicarAlLiberar(new RecordatoriosModificados(Set.copyOf(cambios.recordatorios)));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(RegistroCambios.this);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.syntaxerror.quehayut.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// GET /actuator/consultaslentas lista las últimas consultas lentas; DELETE vacía el registro
+@Component
+@Endpoint(id = "consultaslentas")
+public class ConsultasLentasEndpoint {
+
+    private final RegistroConsultasLentas registro;
+
+    public ConsultasLentasEndpoint(RegistroConsultasLentas registro) {
+        this.registro = registro;
+    }
+
+    @ReadOperation
+    public Map<String, Object> consultas() {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("umbralMs", registro.umbralMs());
+        resultado.put("capacidad", registro.capacidad());
+        resultado.put("consultas", registro.listar());
+        return resultado;
+    }
+
+    @DeleteOperation
+    public void limpiar() {
+        registro.limpiar();
+    }
+}
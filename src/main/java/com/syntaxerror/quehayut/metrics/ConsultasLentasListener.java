@@ -0,0 +1,58 @@
+package com.syntaxerror.quehayut.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Recibe el tiempo de cada sentencia JDBC y pasa al registro las que superan el umbral.
+// En consultas en streaming solo se mide la ejecución, no la lectura de las filas.
+class ConsultasLentasListener implements QueryExecutionListener {
+
+    private final ObjectProvider<RegistroConsultasLentas> registro;
+    // DataSource sin envolver, para que el EXPLAIN no vuelva a pasar por aquí
+    private final DataSource origen;
+
+    ConsultasLentasListener(ObjectProvider<RegistroConsultasLentas> registro, DataSource origen) {
+        this.registro = registro;
+        this.origen = origen;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo ejecucion, List<QueryInfo> consultas) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo ejecucion, List<QueryInfo> consultas) {
+        RegistroConsultasLentas destino = registro.getIfAvailable();
+        if (destino == null || ejecucion.getElapsedTime() < destino.umbralMs()) {
+            return;
+        }
+        String metodo = MetodoRepositorioActual.obtener();
+        for (QueryInfo consulta : consultas) {
+            destino.registrar(origen, ejecucion.getElapsedTime(), metodo, consulta.getQuery(), parametros(consulta));
+        }
+    }
+
+    // En lotes solo se conserva el primer juego de parámetros
+    private static List<Object> parametros(QueryInfo consulta) {
+        if (consulta.getParametersList().isEmpty()) {
+            return List.of();
+        }
+        List<ParameterSetOperation> operaciones = new ArrayList<>(consulta.getParametersList().get(0));
+        operaciones.removeIf(operacion -> !(operacion.getArgs()[0] instanceof Integer));
+        operaciones.sort(Comparator.comparingInt(operacion -> (Integer) operacion.getArgs()[0]));
+        List<Object> valores = new ArrayList<>(operaciones.size());
+        for (ParameterSetOperation operacion : operaciones) {
+            boolean nulo = operacion.getMethod().getName().equals("setNull");
+            valores.add(nulo ? null : operacion.getArgs()[1]);
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,43 @@
+package com.syntaxerror.quehayut.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Envuelve el DataSource para medir cada sentencia y agrega a los repositorios de Spring Data
+// el interceptor que anota qué método está consultando
+@Component
+public class ConsultasLentasPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RegistroConsultasLentas> registro;
+
+    public ConsultasLentasPostProcessor(ObjectProvider<RegistroConsultasLentas> registro) {
+        this.registro = registro;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String nombre) {
+        // Antes de afterPropertiesSet, que es cuando la fábrica crea el proxy del repositorio
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> fabrica) {
+            fabrica.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxy, informacion) -> proxy.addAdvice(
+                            new MetodoRepositorioActual.Interceptor(informacion.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String nombre) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(nombre, dataSource)
+                    .listener(new ConsultasLentasListener(registro, dataSource))
+                    .build();
+        }
+        return bean;
+    }
+}
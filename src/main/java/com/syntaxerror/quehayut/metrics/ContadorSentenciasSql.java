@@ -0,0 +1,41 @@
+package com.syntaxerror.quehayut.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Cuenta las sentencias SQL que Hibernate prepara en el hilo de la petición actual.
+// Solo incrementa un contador en un ThreadLocal; no modifica la sentencia.
+@Component
+public class ContadorSentenciasSql implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> CONTADOR = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] contador = CONTADOR.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        return sql;
+    }
+
+    public void iniciar() {
+        CONTADOR.set(new int[1]);
+    }
+
+    // Devuelve las sentencias contadas desde iniciar() y deja de contar
+    public int terminar() {
+        int[] contador = CONTADOR.get();
+        CONTADOR.remove();
+        return contador == null ? 0 : contador[0];
+    }
+}
@@ -0,0 +1,41 @@
+package com.syntaxerror.quehayut.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+// Método de repositorio que se está ejecutando en el hilo actual ("EventoRepository.findPrimeraPagina"),
+// para atribuir cada sentencia SQL a quien la originó
+public final class MetodoRepositorioActual {
+
+    private static final ThreadLocal<String> ACTUAL = new ThreadLocal<>();
+
+    private MetodoRepositorioActual() {
+    }
+
+    public static String obtener() {
+        return ACTUAL.get();
+    }
+
+    // Se agrega a cada proxy de repositorio; en llamadas anidadas se conserva el método más externo
+    static class Interceptor implements MethodInterceptor {
+
+        private final String repositorio;
+
+        Interceptor(String repositorio) {
+            this.repositorio = repositorio;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (ACTUAL.get() != null) {
+                return invocation.proceed();
+            }
+            ACTUAL.set(repositorio + "." + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                ACTUAL.remove();
+            }
+        }
+    }
+}
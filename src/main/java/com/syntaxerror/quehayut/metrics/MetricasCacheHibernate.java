@@ -0,0 +1,59 @@
+package com.syntaxerror.quehayut.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+// Aciertos, fallos y tasa de aciertos de la caché de segundo nivel (por región) y de la caché
+// de consultas, como series quehayut.hibernate.cache.* con la etiqueta region
+@Component
+public class MetricasCacheHibernate implements MeterBinder {
+
+    static final String REGION_CONSULTAS = "consultas";
+
+    private final Statistics estadisticas;
+
+    public MetricasCacheHibernate(EntityManagerFactory entityManagerFactory) {
+        this.estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : estadisticas.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics datos = estadisticas.getDomainDataRegionStatistics(region);
+            if (datos != null) {
+                registrar(registry, region, datos,
+                        CacheRegionStatistics::getHitCount, CacheRegionStatistics::getMissCount);
+            }
+        }
+        registrar(registry, REGION_CONSULTAS, estadisticas,
+                Statistics::getQueryCacheHitCount, Statistics::getQueryCacheMissCount);
+    }
+
+    private static <T> void registrar(MeterRegistry registry, String region, T fuente,
+                                      ToDoubleFunction<T> aciertos, ToDoubleFunction<T> fallos) {
+        FunctionCounter.builder("quehayut.hibernate.cache.aciertos", fuente, aciertos)
+                .tag("region", region)
+                .register(registry);
+        FunctionCounter.builder("quehayut.hibernate.cache.fallos", fuente, fallos)
+                .tag("region", region)
+                .register(registry);
+        Gauge.builder("quehayut.hibernate.cache.tasa-aciertos", fuente,
+                        valor -> tasa(aciertos.applyAsDouble(valor), fallos.applyAsDouble(valor)))
+                .tag("region", region)
+                .register(registry);
+    }
+
+    static double tasa(double aciertos, double fallos) {
+        double total = aciertos + fallos;
+        return total == 0 ? 0 : aciertos / total;
+    }
+}
@@ -0,0 +1,50 @@
+package com.syntaxerror.quehayut.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Registra cuántas sentencias SQL ejecutó cada petición, por ruta. La latencia por ruta
+// ya la mide Spring Boot en http.server.requests.
+@Component
+public class MetricasPeticionesFilter extends OncePerRequestFilter {
+
+    static final String METRICA_SENTENCIAS = "quehayut.sql.sentencias";
+
+    private final ContadorSentenciasSql contadorSentenciasSql;
+    private final MeterRegistry meterRegistry;
+
+    public MetricasPeticionesFilter(ContadorSentenciasSql contadorSentenciasSql, MeterRegistry meterRegistry) {
+        this.contadorSentenciasSql = contadorSentenciasSql;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        contadorSentenciasSql.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int sentencias = contadorSentenciasSql.terminar();
+            // El patrón (/api/eventos/{id}) evita una serie por cada URL concreta
+            Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRICA_SENTENCIAS)
+                    .description("Sentencias SQL por petición")
+                    .baseUnit("sentencias")
+                    .tag("method", request.getMethod())
+                    .tag("uri", patron != null ? patron.toString() : "UNKNOWN")
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(sentencias);
+        }
+    }
+}
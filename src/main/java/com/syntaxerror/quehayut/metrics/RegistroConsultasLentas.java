@@ -0,0 +1,143 @@
+package com.syntaxerror.quehayut.metrics;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Últimas consultas que superaron el umbral, con sus parámetros, el método de repositorio que
+// las originó y su plan de ejecución. El EXPLAIN se corre en un hilo aparte sobre una conexión
+// propia, así que no suma latencia a la petición; si ese hilo se atrasa, se descartan entradas.
+@Component
+public class RegistroConsultasLentas {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistroConsultasLentas.class);
+
+    private static final int LARGO_MAXIMO_PARAMETRO = 200;
+
+    public record ConsultaLenta(Instant momento, long duracionMs, String metodoRepositorio, String sql,
+                                List<String> parametros, String plan) {
+    }
+
+    private final long umbralMs;
+    private final int capacidad;
+    private final boolean explain;
+    private final ArrayDeque<ConsultaLenta> consultas;
+
+    private final ThreadPoolExecutor ejecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(64), tarea -> {
+                Thread hilo = new Thread(tarea, "consultas-lentas");
+                hilo.setDaemon(true);
+                return hilo;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public RegistroConsultasLentas(
+            @Value("${quehayut.consultas-lentas.umbral:PT0.2S}") Duration umbral,
+            @Value("${quehayut.consultas-lentas.capacidad:200}") int capacidad,
+            @Value("${quehayut.consultas-lentas.explain:true}") boolean explain
+    ) {
+        this.umbralMs = umbral.toMillis();
+        this.capacidad = capacidad;
+        this.explain = explain;
+        this.consultas = new ArrayDeque<>(capacidad);
+    }
+
+    public long umbralMs() {
+        return umbralMs;
+    }
+
+    public int capacidad() {
+        return capacidad;
+    }
+
+    // parametros en orden de posición; null representa un NULL de SQL
+    void registrar(DataSource origen, long duracionMs, String metodo, String sql, List<Object> parametros) {
+        Instant momento = Instant.now();
+        ejecutor.execute(() -> {
+            String plan = explain && esConsulta(sql) ? explicar(origen, sql, parametros) : null;
+            List<String> textos = new ArrayList<>(parametros.size());
+            for (Object parametro : parametros) {
+                textos.add(texto(parametro));
+            }
+            agregar(new ConsultaLenta(momento, duracionMs, metodo, sql, textos, plan));
+            logger.warn("Consulta lenta ({} ms) desde {}: {}", duracionMs, metodo != null ? metodo : "?", sql);
+        });
+    }
+
+    // Más reciente primero
+    public synchronized List<ConsultaLenta> listar() {
+        List<ConsultaLenta> resultado = new ArrayList<>(consultas.size());
+        Iterator<ConsultaLenta> iterador = consultas.descendingIterator();
+        while (iterador.hasNext()) {
+            resultado.add(iterador.next());
+        }
+        return resultado;
+    }
+
+    public synchronized void limpiar() {
+        consultas.clear();
+    }
+
+    private synchronized void agregar(ConsultaLenta consulta) {
+        if (consultas.size() == capacidad) {
+            consultas.removeFirst();
+        }
+        consultas.addLast(consulta);
+    }
+
+    // EXPLAIN sin ANALYZE no ejecuta la sentencia; igual se limita a lecturas
+    private static boolean esConsulta(String sql) {
+        String inicio = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return inicio.startsWith("select") || inicio.startsWith("with");
+    }
+
+    // La sintaxis EXPLAIN <consulta> con parámetros sirve igual en PostgreSQL y en H2
+    private static String explicar(DataSource origen, String sql, List<Object> parametros) {
+        try (Connection conexion = origen.getConnection();
+             PreparedStatement sentencia = conexion.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parametros.size(); i++) {
+                sentencia.setObject(i + 1, parametros.get(i));
+            }
+            StringJoiner plan = new StringJoiner("\n");
+            try (ResultSet filas = sentencia.executeQuery()) {
+                while (filas.next()) {
+                    plan.add(filas.getString(1));
+                }
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            return "EXPLAIN no disponible: " + e.getMessage();
+        }
+    }
+
+    private static String texto(Object parametro) {
+        if (parametro == null) {
+            return "NULL";
+        }
+        String texto = parametro.toString();
+        return texto.length() > LARGO_MAXIMO_PARAMETRO ? texto.substring(0, LARGO_MAXIMO_PARAMETRO) + "..." : texto;
+    }
+
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+}
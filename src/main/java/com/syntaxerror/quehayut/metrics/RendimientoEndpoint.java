@@ -0,0 +1,155 @@
+package com.syntaxerror.quehayut.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// GET /actuator/rendimiento: resumen de latencia y sentencias SQL por ruta, estadísticas de
+// Hibernate y espera por conexiones del pool. Solo lee contadores que ya existen.
+@Component
+@Endpoint(id = "rendimiento")
+public class RendimientoEndpoint {
+
+    private final MeterRegistry meterRegistry;
+    private final Statistics estadisticas;
+
+    public RendimientoEndpoint(MeterRegistry meterRegistry, EntityManagerFactory entityManagerFactory) {
+        this.meterRegistry = meterRegistry;
+        this.estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> rendimiento() {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("rutas", rutas());
+        resultado.put("hibernate", hibernate());
+        resultado.put("cacheSegundoNivel", cacheSegundoNivel());
+        resultado.put("pool", pool());
+        return resultado;
+    }
+
+    private Map<String, Object> rutas() {
+        Map<String, Object> rutas = new TreeMap<>();
+        for (Timer timer : meterRegistry.find("http.server.requests").timers()) {
+            String ruta = timer.getId().getTag("method") + " " + timer.getId().getTag("uri");
+            porRuta(rutas, ruta).put("status " + timer.getId().getTag("status"), resumenTiempo(timer.takeSnapshot()));
+        }
+        for (DistributionSummary resumen : meterRegistry.find(MetricasPeticionesFilter.METRICA_SENTENCIAS).summaries()) {
+            String ruta = resumen.getId().getTag("method") + " " + resumen.getId().getTag("uri");
+            HistogramSnapshot snapshot = resumen.takeSnapshot();
+            Map<String, Object> sentencias = new LinkedHashMap<>();
+            sentencias.put("peticiones", snapshot.count());
+            sentencias.put("promedio", snapshot.mean());
+            sentencias.put("max", snapshot.max());
+            for (ValueAtPercentile percentil : snapshot.percentileValues()) {
+                sentencias.put(percentil(percentil), percentil.value());
+            }
+            porRuta(rutas, ruta).put("sentenciasSql", sentencias);
+        }
+        return rutas;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> porRuta(Map<String, Object> rutas, String ruta) {
+        return (Map<String, Object>) rutas.computeIfAbsent(ruta, clave -> new LinkedHashMap<String, Object>());
+    }
+
+    private Map<String, Object> hibernate() {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("estadisticasHabilitadas", estadisticas.isStatisticsEnabled());
+        datos.put("sentenciasPreparadas", estadisticas.getPrepareStatementCount());
+        datos.put("consultasEjecutadas", estadisticas.getQueryExecutionCount());
+        datos.put("consultaMasLenta", estadisticas.getQueryExecutionMaxTimeQueryString());
+        datos.put("consultaMasLentaMs", estadisticas.getQueryExecutionMaxTime());
+        datos.put("entidadesCargadas", estadisticas.getEntityLoadCount());
+        datos.put("entidadesBuscadas", estadisticas.getEntityFetchCount());
+        datos.put("coleccionesCargadas", estadisticas.getCollectionLoadCount());
+        datos.put("coleccionesBuscadas", estadisticas.getCollectionFetchCount());
+        datos.put("entidadesInsertadas", estadisticas.getEntityInsertCount());
+        datos.put("entidadesActualizadas", estadisticas.getEntityUpdateCount());
+        datos.put("flushes", estadisticas.getFlushCount());
+        datos.put("sesionesAbiertas", estadisticas.getSessionOpenCount());
+        datos.put("transacciones", estadisticas.getTransactionCount());
+        return datos;
+    }
+
+    private Map<String, Object> cacheSegundoNivel() {
+        Map<String, Object> regiones = new TreeMap<>();
+        for (String region : estadisticas.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics datos = estadisticas.getDomainDataRegionStatistics(region);
+            if (datos != null) {
+                regiones.put(region, resumenCache(datos.getHitCount(), datos.getMissCount(), datos.getPutCount()));
+            }
+        }
+        regiones.put(MetricasCacheHibernate.REGION_CONSULTAS, resumenCache(estadisticas.getQueryCacheHitCount(),
+                estadisticas.getQueryCacheMissCount(), estadisticas.getQueryCachePutCount()));
+        return regiones;
+    }
+
+    private static Map<String, Object> resumenCache(long aciertos, long fallos, long escrituras) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("aciertos", aciertos);
+        datos.put("fallos", fallos);
+        datos.put("escrituras", escrituras);
+        datos.put("tasaAciertos", MetricasCacheHibernate.tasa(aciertos, fallos));
+        return datos;
+    }
+
+    private Map<String, Object> pool() {
+        Map<String, Object> pools = new TreeMap<>();
+        for (Meter medidor : meterRegistry.find("hikaricp.connections.acquire").meters()) {
+            if (medidor instanceof Timer timer) {
+                String nombre = timer.getId().getTag("pool");
+                Map<String, Object> datos = new LinkedHashMap<>();
+                datos.put("esperaConexion", resumenTiempo(timer.takeSnapshot()));
+                datos.put("activas", valorGauge("hikaricp.connections.active", nombre));
+                datos.put("inactivas", valorGauge("hikaricp.connections.idle", nombre));
+                datos.put("pendientes", valorGauge("hikaricp.connections.pending", nombre));
+                datos.put("maximo", valorGauge("hikaricp.connections.max", nombre));
+                datos.put("timeouts", meterRegistry.find("hikaricp.connections.timeout").tag("pool", nombre)
+                        .counters().stream().mapToDouble(contador -> contador.count()).sum());
+                pools.put(nombre, datos);
+            }
+        }
+        return pools;
+    }
+
+    private Double valorGauge(String nombre, String pool) {
+        Gauge gauge = meterRegistry.find(nombre).tag("pool", pool).gauge();
+        return gauge != null ? gauge.value() : null;
+    }
+
+    // 0.999 -> "p99.9"
+    private static String percentil(ValueAtPercentile percentil) {
+        return "p" + BigDecimal.valueOf(percentil.percentile() * 100).stripTrailingZeros().toPlainString();
+    }
+
+    // Tiempos en milisegundos
+    private static Map<String, Object> resumenTiempo(HistogramSnapshot snapshot) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("peticiones", snapshot.count());
+        datos.put("promedioMs", snapshot.mean(TimeUnit.MILLISECONDS));
+        datos.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentil : snapshot.percentileValues()) {
+            datos.put(percentil(percentil) + "Ms", percentil.value(TimeUnit.MILLISECONDS));
+        }
+        return datos;
+    }
+}
@@ -2,16 +2,24 @@ package com.syntaxerror.quehayut.models;
 
 import com.syntaxerror.quehayut.models.enums.EstadoCategoria;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+// Tabla pequeña y casi de solo lectura: se guarda en la caché de segundo nivel, así
+// EventoCategoria.getCategoria() y las búsquedas por id no van a la base
 @Entity
 @Table(name = "categorias")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categorias")
 public class Categoria {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categorias_seq")
+    @SequenceGenerator(name = "categorias_seq", sequenceName = "categorias_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "creado_en")
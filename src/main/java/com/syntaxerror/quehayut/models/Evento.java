@@ -1,6 +1,7 @@
 package com.syntaxerror.quehayut.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.syntaxerror.quehayut.events.CambiosEntidadesListener;
 import com.syntaxerror.quehayut.models.enums.EstadoEvento;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -9,10 +10,14 @@ import java.util.List;
 
 @Entity
 @Table(name = "eventos")
+@EntityListeners(CambiosEntidadesListener.class)
 public class Evento {
     
+    // Secuencia con asignación en bloques de 50 (optimizador pooled): a diferencia de
+    // IDENTITY permite que Hibernate agrupe los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_seq")
+    @SequenceGenerator(name = "eventos_seq", sequenceName = "eventos_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "creado_en")
@@ -1,14 +1,17 @@
 package com.syntaxerror.quehayut.models;
 
+import com.syntaxerror.quehayut.events.CambiosEntidadesListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "eventos_categorias")
+@EntityListeners(CambiosEntidadesListener.class)
 public class EventoCategoria {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_categorias_seq")
+    @SequenceGenerator(name = "eventos_categorias_seq", sequenceName = "eventos_categorias_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "creado_en")
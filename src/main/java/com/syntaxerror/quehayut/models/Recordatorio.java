@@ -1,15 +1,18 @@
 package com.syntaxerror.quehayut.models;
 
+import com.syntaxerror.quehayut.events.CambiosEntidadesListener;
 import com.syntaxerror.quehayut.models.enums.EstadoRecordatorio;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "recordatorios")
+@EntityListeners(CambiosEntidadesListener.class)
 public class Recordatorio {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recordatorios_seq")
+    @SequenceGenerator(name = "recordatorios_seq", sequenceName = "recordatorios_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "creado_en")
@@ -32,6 +35,13 @@ public class Recordatorio {
     @Column(name = "estado", nullable = false)
     private EstadoRecordatorio estado;
 
+    // Intentos de envío fallidos y momento del próximo reintento
+    @Column(name = "intentos", nullable = false)
+    private Integer intentos = 0;
+
+    @Column(name = "proximo_intento")
+    private LocalDateTime proximoIntento;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false)
     private Usuario usuario;
@@ -73,6 +83,22 @@ public class Recordatorio {
         this.estado = estado;
     }
 
+    public Integer getIntentos() {
+        return intentos;
+    }
+
+    public void setIntentos(Integer intentos) {
+        this.intentos = intentos;
+    }
+
+    public LocalDateTime getProximoIntento() {
+        return proximoIntento;
+    }
+
+    public void setProximoIntento(LocalDateTime proximoIntento) {
+        this.proximoIntento = proximoIntento;
+    }
+
     public Usuario getUsuario() {
         return usuario;
     }
@@ -1,13 +1,30 @@
 package com.syntaxerror.quehayut.repositories;
 
 import com.syntaxerror.quehayut.models.Categoria;
+import com.syntaxerror.quehayut.models.enums.EstadoCategoria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
+
+    // Consultas en la caché de consultas de Hibernate; se invalidan solas cuando se escribe en categorias
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Categoria> findByNombre(String nombre);
-}
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Categoria> findByEstado(EstadoCategoria estado);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id, c.nombre, c.descripcion, c.estado, c.createdAt FROM Categoria c ORDER BY c.id")
+    Stream<Object[]> streamReporte(Limit limite);
+}
@@ -1,10 +1,41 @@
 package com.syntaxerror.quehayut.repositories;
 
+import com.syntaxerror.quehayut.dto.ParEventoCategoria;
 import com.syntaxerror.quehayut.models.EventoCategoria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface EventoCategoriaRepository extends JpaRepository<EventoCategoria, Long> {
-}
 
+    // Solo las llaves foráneas, sin hidratar entidades
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.syntaxerror.quehayut.dto.ParEventoCategoria(ec.evento.id, ec.categoria.id) FROM EventoCategoria ec")
+    Stream<ParEventoCategoria> streamPares();
+
+    @Query("""
+            SELECT new com.syntaxerror.quehayut.dto.ParEventoCategoria(ec.evento.id, ec.categoria.id)
+            FROM EventoCategoria ec
+            WHERE ec.evento.id IN :eventoIds
+            """)
+    List<ParEventoCategoria> findParesPorEventos(@Param("eventoIds") Collection<Long> eventoIds);
+
+    // Un solo JOIN en vez de cargar evento y categoría por cada fila
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT ec.id, e.id, e.nombre, c.id, c.nombre, ec.createdAt
+            FROM EventoCategoria ec JOIN ec.evento e JOIN ec.categoria c
+            ORDER BY ec.id
+            """)
+    Stream<Object[]> streamReporte(Limit limite);
+}
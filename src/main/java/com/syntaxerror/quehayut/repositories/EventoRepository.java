@@ -1,10 +1,106 @@
 package com.syntaxerror.quehayut.repositories;
 
+import com.syntaxerror.quehayut.dto.IntervaloEvento;
 import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface EventoRepository extends JpaRepository<Evento, Long> {
-}
+public interface EventoRepository extends JpaRepository<Evento, Long>, EventoRepositoryCustom {
+
+    // Paginación por cursor (keyset) ordenada por (fechaInicio, id)
+    @Query("SELECT e FROM Evento e ORDER BY e.fechaInicio ASC, e.id ASC")
+    List<Evento> findPrimeraPagina(Limit limit);
+
+    @Query("""
+            SELECT e FROM Evento e
+            WHERE e.fechaInicio > :fechaInicio
+               OR (e.fechaInicio = :fechaInicio AND e.id > :id)
+            ORDER BY e.fechaInicio ASC, e.id ASC
+            """)
+    List<Evento> findPaginaDespuesDe(
+            @Param("fechaInicio") LocalDateTime fechaInicio,
+            @Param("id") Long id,
+            Limit limit);
+
+    // Recorrido completo con cursor JDBC; debe consumirse dentro de una transacción
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Evento e ORDER BY e.id ASC")
+    Stream<Evento> streamTodos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.syntaxerror.quehayut.dto.IntervaloEvento(e.id, e.fechaInicio, e.fechaFin) FROM Evento e")
+    Stream<IntervaloEvento> streamIntervalos();
 
+    // Pares (id, estado) para saber qué cambió en cada evento modificado
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.id, e.estado FROM Evento e")
+    Stream<Object[]> streamEstados();
+
+    @Query("""
+            SELECT new com.syntaxerror.quehayut.dto.IntervaloEvento(e.id, e.fechaInicio, e.fechaFin)
+            FROM Evento e
+            WHERE e.id IN :ids
+            """)
+    List<IntervaloEvento> findIntervalos(@Param("ids") Collection<Long> ids);
+
+    // Ciclo de vida: PROGRAMADO -> EN_CURSO cuando llega fechaInicio
+    @Query("""
+            SELECT e.id FROM Evento e
+            WHERE e.estado = com.syntaxerror.quehayut.models.enums.EstadoEvento.PROGRAMADO
+              AND e.fechaInicio <= :ahora
+              AND (e.fechaFin IS NULL OR e.fechaFin > :ahora)
+            """)
+    List<Long> findIdsPorIniciar(@Param("ahora") LocalDateTime ahora, Limit limit);
+
+    // PROGRAMADO/EN_CURSO -> FINALIZADO cuando pasa fechaFin, o finSinFecha para
+    // los eventos sin fechaFin
+    @Query("""
+            SELECT e.id FROM Evento e
+            WHERE e.estado IN (com.syntaxerror.quehayut.models.enums.EstadoEvento.PROGRAMADO,
+                               com.syntaxerror.quehayut.models.enums.EstadoEvento.EN_CURSO)
+              AND ((e.fechaFin IS NOT NULL AND e.fechaFin <= :ahora)
+                   OR (e.fechaFin IS NULL AND e.fechaInicio <= :inicioSinFecha))
+            """)
+    List<Long> findIdsPorFinalizar(
+            @Param("ahora") LocalDateTime ahora,
+            @Param("inicioSinFecha") LocalDateTime inicioSinFecha,
+            Limit limit);
+
+    // UPDATE masivo: no pasa por el contexto de persistencia ni por los listeners JPA
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Evento e
+            SET e.estado = :estado, e.updatedAt = :ahora
+            WHERE e.id IN :ids AND e.estado IN :estadosPrevios
+            """)
+    int actualizarEstado(
+            @Param("ids") Collection<Long> ids,
+            @Param("estado") EstadoEvento estado,
+            @Param("estadosPrevios") Collection<EstadoEvento> estadosPrevios,
+            @Param("ahora") LocalDateTime ahora);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT e.id, e.nombre, e.descripcion, e.ubicacion, e.fechaInicio, e.fechaFin, e.estado,
+                   e.organizador, e.createdAt
+            FROM Evento e ORDER BY e.id
+            """)
+    Stream<Object[]> streamReporte(Limit limite);
+}
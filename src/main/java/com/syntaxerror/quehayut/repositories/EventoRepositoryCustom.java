@@ -0,0 +1,17 @@
+package com.syntaxerror.quehayut.repositories;
+
+import jakarta.persistence.Tuple;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EventoRepositoryCustom {
+
+    // Proyección de columnas: solo se seleccionan los campos pedidos, sin hidratar entidades.
+    // Si despuesDeFecha es null se empieza desde el principio; si limite es null no se limita.
+    List<Tuple> findCampos(Collection<String> campos, LocalDateTime despuesDeFecha, Long despuesDeId, Integer limite);
+
+    // Misma proyección para un conjunto de ids, sin orden
+    List<Tuple> findCamposPorIds(Collection<String> campos, Collection<Long> ids);
+}
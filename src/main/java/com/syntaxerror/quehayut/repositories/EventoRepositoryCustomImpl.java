@@ -0,0 +1,64 @@
+package com.syntaxerror.quehayut.repositories;
+
+import com.syntaxerror.quehayut.models.Evento;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class EventoRepositoryCustomImpl implements EventoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findCampos(Collection<String> campos, LocalDateTime despuesDeFecha, Long despuesDeId, Integer limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Evento> evento = query.from(Evento.class);
+        query.multiselect(selecciones(evento, campos));
+
+        Path<LocalDateTime> fechaInicio = evento.get("fechaInicio");
+        Path<Long> id = evento.get("id");
+        if (despuesDeFecha != null) {
+            query.where(cb.or(
+                    cb.greaterThan(fechaInicio, despuesDeFecha),
+                    cb.and(cb.equal(fechaInicio, despuesDeFecha), cb.greaterThan(id, despuesDeId))));
+        }
+        query.orderBy(cb.asc(fechaInicio), cb.asc(id));
+
+        TypedQuery<Tuple> consulta = entityManager.createQuery(query);
+        if (limite != null) {
+            consulta.setMaxResults(limite);
+        }
+        return consulta.getResultList();
+    }
+
+    @Override
+    public List<Tuple> findCamposPorIds(Collection<String> campos, Collection<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Evento> evento = query.from(Evento.class);
+        query.multiselect(selecciones(evento, campos));
+        query.where(evento.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static List<Selection<?>> selecciones(Root<Evento> evento, Collection<String> campos) {
+        List<Selection<?>> selecciones = new ArrayList<>();
+        for (String campo : campos) {
+            selecciones.add(evento.get(campo).alias(campo));
+        }
+        return selecciones;
+    }
+}
@@ -1,10 +1,184 @@
 package com.syntaxerror.quehayut.repositories;
 
+import com.syntaxerror.quehayut.dto.RecordatorioProgramable;
 import com.syntaxerror.quehayut.models.Recordatorio;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface RecordatorioRepository extends JpaRepository<Recordatorio, Long> {
-}
 
+    // Reclama un lote de recordatorios vencidos: PENDIENTE cuyo evento empieza entre ahora y
+    // limiteEvento, o FALLIDO con reintentos disponibles. Las filas bloqueadas por otro
+    // despachador se saltan (lock timeout -2 = SKIP LOCKED), igual que las reservadas
+    // (proximoIntento en el futuro) y las de eventos que ya terminaron.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT r FROM Recordatorio r
+            JOIN FETCH r.usuario
+            JOIN FETCH r.evento e
+            WHERE ((r.estado = com.syntaxerror.quehayut.models.enums.EstadoRecordatorio.PENDIENTE
+                    AND e.fechaInicio > :ahora
+                    AND e.fechaInicio <= :limiteEvento)
+                OR (r.estado = com.syntaxerror.quehayut.models.enums.EstadoRecordatorio.FALLIDO
+                    AND r.intentos < :maxIntentos))
+              AND (r.proximoIntento IS NULL OR r.proximoIntento <= :ahora)
+              AND COALESCE(e.fechaFin, e.fechaInicio) >= :ahora
+            ORDER BY e.fechaInicio ASC
+            """)
+    List<Recordatorio> reclamarVencidos(
+            @Param("ahora") LocalDateTime ahora,
+            @Param("limiteEvento") LocalDateTime limiteEvento,
+            @Param("maxIntentos") int maxIntentos,
+            Limit limit);
+
+    // Reclama recordatorios concretos (los que venció la rueda de temporización), con las
+    // mismas exclusiones que reclamarVencidos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT r FROM Recordatorio r
+            JOIN FETCH r.usuario
+            JOIN FETCH r.evento e
+            WHERE r.id IN :ids
+              AND r.estado IN (com.syntaxerror.quehayut.models.enums.EstadoRecordatorio.PENDIENTE,
+                               com.syntaxerror.quehayut.models.enums.EstadoRecordatorio.FALLIDO)
+              AND (r.proximoIntento IS NULL OR r.proximoIntento <= :ahora)
+              AND COALESCE(e.fechaFin, e.fechaInicio) >= :ahora
+            """)
+    List<Recordatorio> reclamarPorIds(@Param("ids") Collection<Long> ids, @Param("ahora") LocalDateTime ahora);
+
+    // Reserva los recordatorios reclamados mientras se entregan fuera de la transacción:
+    // hasta :reservadoHasta ningún despachador los vuelve a reclamar
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Recordatorio r
+            SET r.proximoIntento = :reservadoHasta
+            WHERE r.id IN :ids
+            """)
+    int reservar(@Param("ids") Collection<Long> ids, @Param("reservadoHasta") LocalDateTime reservadoHasta);
+
+    // Recordatorios que deben cargarse en la rueda de temporización al arrancar. Los PENDIENTE
+    // de eventos que ya empezaron no se cargan: dispararlos ahora llegaría tarde.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.syntaxerror.quehayut.dto.RecordatorioProgramable(
+                r.id, r.estado, r.intentos, e.fechaInicio, r.proximoIntento)
+            FROM Recordatorio r
+            JOIN r.evento e
+            WHERE (r.estado = com.syntaxerror.quehayut.models.enums.EstadoRecordatorio.PENDIENTE
+                   AND e.fechaInicio > :ahora
+                   AND e.fechaInicio <= :limiteEvento)
+               OR (r.estado = com.syntaxerror.quehayut.models.enums.EstadoRecordatorio.FALLIDO
+                   AND r.intentos < :maxIntentos)
+            """)
+    Stream<RecordatorioProgramable> streamProgramables(
+            @Param("ahora") LocalDateTime ahora,
+            @Param("limiteEvento") LocalDateTime limiteEvento,
+            @Param("maxIntentos") int maxIntentos);
+
+    @Query("""
+            SELECT new com.syntaxerror.quehayut.dto.RecordatorioProgramable(
+                r.id, r.estado, r.intentos, r.evento.fechaInicio, r.proximoIntento)
+            FROM Recordatorio r
+            WHERE r.id IN :ids
+            """)
+    List<RecordatorioProgramable> findProgramables(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT new com.syntaxerror.quehayut.dto.RecordatorioProgramable(
+                r.id, r.estado, r.intentos, r.evento.fechaInicio, r.proximoIntento)
+            FROM Recordatorio r
+            WHERE r.evento.id IN :eventoIds
+            """)
+    List<RecordatorioProgramable> findProgramablesPorEventos(@Param("eventoIds") Collection<Long> eventoIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Recordatorio r
+            SET r.estado = com.syntaxerror.quehayut.models.enums.EstadoRecordatorio.ENVIADO,
+                r.proximoIntento = NULL,
+                r.updatedAt = :ahora
+            WHERE r.id IN :ids
+            """)
+    int marcarEnviados(@Param("ids") Collection<Long> ids, @Param("ahora") LocalDateTime ahora);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Recordatorio r
+            SET r.estado = com.syntaxerror.quehayut.models.enums.EstadoRecordatorio.FALLIDO,
+                r.intentos = :intentos,
+                r.proximoIntento = :proximoIntento,
+                r.updatedAt = :ahora
+            WHERE r.id IN :ids
+            """)
+    int marcarFallidos(
+            @Param("ids") Collection<Long> ids,
+            @Param("intentos") int intentos,
+            @Param("proximoIntento") LocalDateTime proximoIntento,
+            @Param("ahora") LocalDateTime ahora);
+
+    // Agenda de un usuario en una sola consulta: recordatorio, evento y categorías del evento.
+    // Los CANCELADO no forman parte de la agenda.
+    @EntityGraph(attributePaths = {"evento", "evento.eventosCategorias", "evento.eventosCategorias.categoria"})
+    @Query("""
+            SELECT r FROM Recordatorio r
+            WHERE r.usuario.id = :usuarioId
+              AND r.estado <> com.syntaxerror.quehayut.models.enums.EstadoRecordatorio.CANCELADO
+            ORDER BY r.evento.fechaInicio ASC, r.id ASC
+            """)
+    List<Recordatorio> findAgenda(@Param("usuarioId") Long usuarioId);
+
+    // De los usuarios dados, los que tienen al menos :minimo recordatorios en su agenda
+    @Query("""
+            SELECT r.usuario.id FROM Recordatorio r
+            WHERE r.usuario.id IN :usuarioIds
+              AND r.estado <> com.syntaxerror.quehayut.models.enums.EstadoRecordatorio.CANCELADO
+            GROUP BY r.usuario.id
+            HAVING COUNT(r) >= :minimo
+            """)
+    List<Long> findUsuariosConAgendaDeEntre(
+            @Param("minimo") long minimo,
+            @Param("usuarioIds") Collection<Long> usuarioIds);
+
+    // Usuarios con al menos :minimo recordatorios en su agenda, los de más recordatorios primero
+    @Query("""
+            SELECT r.usuario.id FROM Recordatorio r
+            WHERE r.estado <> com.syntaxerror.quehayut.models.enums.EstadoRecordatorio.CANCELADO
+            GROUP BY r.usuario.id
+            HAVING COUNT(r) >= :minimo
+            ORDER BY COUNT(r) DESC
+            """)
+    List<Long> findUsuariosConAgendaDe(@Param("minimo") long minimo, Limit limit);
+
+    @Query("SELECT DISTINCT r.usuario.id FROM Recordatorio r WHERE r.id IN :ids")
+    List<Long> findUsuarioIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT r.usuario.id FROM Recordatorio r WHERE r.evento.id IN :eventoIds")
+    List<Long> findUsuarioIdsPorEventos(@Param("eventoIds") Collection<Long> eventoIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT r.id, u.id, u.primerNombre, u.primerApellido, e.id, e.nombre, r.estado, r.intentos,
+                   r.createdAt
+            FROM Recordatorio r JOIN r.usuario u JOIN r.evento e
+            ORDER BY r.id
+            """)
+    Stream<Object[]> streamReporte(Limit limite);
+}
@@ -1,13 +1,27 @@
 package com.syntaxerror.quehayut.repositories;
 
 import com.syntaxerror.quehayut.models.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findById(Integer id);
-}
 
+    // Columnas planas para el reporte de --show, sin entidades administradas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT u.id, u.primerNombre, u.segundoNombre, u.primerApellido, u.segundoApellido,
+                   u.fechaDeNacimiento, u.telefono, u.createdAt
+            FROM Usuario u ORDER BY u.id
+            """)
+    Stream<Object[]> streamReporte(Limit limite);
+}
@@ -15,6 +15,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 @Component
 @Order(1)
@@ -27,19 +28,22 @@ public class DataSeeder implements CommandLineRunner {
     private final EventoRepository eventoRepository;
     private final RecordatorioRepository recordatorioRepository;
     private final EventoCategoriaRepository eventoCategoriaRepository;
+    private final GeneradorDatosMasivos generadorDatosMasivos;
 
     public DataSeeder(
             UsuarioRepository usuarioRepository,
             CategoriaRepository categoriaRepository,
             EventoRepository eventoRepository,
             RecordatorioRepository recordatorioRepository,
-            EventoCategoriaRepository eventoCategoriaRepository
+            EventoCategoriaRepository eventoCategoriaRepository,
+            GeneradorDatosMasivos generadorDatosMasivos
     ) {
         this.usuarioRepository = usuarioRepository;
         this.categoriaRepository = categoriaRepository;
         this.eventoRepository = eventoRepository;
         this.recordatorioRepository = recordatorioRepository;
         this.eventoCategoriaRepository = eventoCategoriaRepository;
+        this.generadorDatosMasivos = generadorDatosMasivos;
     }
 
     @Override
@@ -58,11 +62,20 @@ public class DataSeeder implements CommandLineRunner {
         
         // Limpiar datos existentes (opcional, para desarrollo)
         logger.info("Limpiando datos existentes...");
-        recordatorioRepository.deleteAll();
-        eventoCategoriaRepository.deleteAll();
-        eventoRepository.deleteAll();
-        categoriaRepository.deleteAll();
-        usuarioRepository.deleteAll();
+        generadorDatosMasivos.vaciarTablas();
+
+        // Con --scale=N se generan N eventos sintéticos en lugar del seed fijo
+        Long escala = argumentoNumerico(args, "--scale=");
+        if (escala != null) {
+            long semilla = Objects.requireNonNullElse(argumentoNumerico(args, "--semilla="), 42L);
+            Long hilos = argumentoNumerico(args, "--hilos=");
+            long inicio = System.nanoTime();
+            generadorDatosMasivos.generar(escala, semilla,
+                    hilos != null ? hilos.intValue() : Math.min(8, Runtime.getRuntime().availableProcessors()));
+            logger.info("=== Seed masivo completado en {} ms ===", (System.nanoTime() - inicio) / 1_000_000);
+            imprimirResumen();
+            System.exit(0);
+        }
 
         // 1. Crear Usuarios
         logger.info("Creando usuarios...");
@@ -90,15 +103,32 @@ public class DataSeeder implements CommandLineRunner {
         logger.info("Recordatorios creados");
 
         logger.info("=== Seed completado exitosamente ===");
+        imprimirResumen();
+
+        // Terminar la aplicación después de ejecutar el seed
+        System.exit(0);
+    }
+
+    private void imprimirResumen() {
         logger.info("Resumen:");
         logger.info("  - Usuarios: {}", usuarioRepository.count());
         logger.info("  - Categorías: {}", categoriaRepository.count());
         logger.info("  - Eventos: {}", eventoRepository.count());
         logger.info("  - Recordatorios: {}", recordatorioRepository.count());
         logger.info("  - Eventos-Categorías: {}", eventoCategoriaRepository.count());
-        
-        // Terminar la aplicación después de ejecutar el seed
-        System.exit(0);
+    }
+
+    private Long argumentoNumerico(String[] args, String prefijo) {
+        for (String arg : args) {
+            if (arg.startsWith(prefijo)) {
+                try {
+                    return Long.parseLong(arg.substring(prefijo.length()).replace("_", ""));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Valor inválido para " + prefijo + " " + arg, e);
+                }
+            }
+        }
+        return null;
     }
 
     private List<Usuario> crearUsuarios() {
@@ -0,0 +1,312 @@
+package com.syntaxerror.quehayut.seeders;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+// Genera datos sintéticos a escala (--seed --scale=N) para pruebas de carga. Todo valor
+// se deriva de (semilla, id), así que la misma semilla produce siempre los mismos datos
+// sin importar el orden en que los hilos insertan los bloques. Escribe con JDBC en lotes
+// paralelos y asigna los ids explícitamente; al final ajusta las secuencias.
+@Component
+public class GeneradorDatosMasivos {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeneradorDatosMasivos.class);
+
+    private static final int FILAS_POR_LOTE = 5_000;
+    // Debe coincidir con allocationSize de las entidades
+    private static final int BLOQUE_SECUENCIA = 50;
+    private static final long MEZCLA = 0x9E3779B97F4A7C15L;
+
+    private static final String[] TABLAS = {"recordatorios", "eventos_categorias", "eventos", "categorias", "usuarios"};
+
+    private static final String[] NOMBRES = {
+            "María", "José", "Ana", "Juan", "Laura", "Carlos", "Sofía", "Andrés", "Valentina", "Santiago",
+            "Camila", "Daniel", "Isabella", "Sebastián", "Mariana", "Felipe", "Gabriela", "Diego", "Paula", "Nicolás"};
+    private static final String[] APELLIDOS = {
+            "González", "Rodríguez", "Gómez", "López", "Martínez", "García", "Pérez", "Sánchez", "Ramírez", "Torres",
+            "Vargas", "Rojas", "Moreno", "Díaz", "Castro", "Ortiz", "Herrera", "Suárez", "Jiménez", "Quintero"};
+    private static final String[] CATEGORIAS = {
+            "Académico", "Cultural", "Deportivo", "Social", "Investigación", "Emprendimiento",
+            "Tecnología", "Salud", "Arte", "Música", "Voluntariado", "Idiomas"};
+    private static final String[] TIPOS_EVENTO = {
+            "Taller de", "Conferencia sobre", "Seminario de", "Encuentro de", "Festival de",
+            "Torneo de", "Charla:", "Feria de", "Curso corto de", "Jornada de"};
+    private static final String[] TEMAS = {
+            "Inteligencia Artificial", "Música Andina", "Fútbol", "Emprendimiento Social", "Biotecnología",
+            "Fotografía", "Programación", "Literatura", "Agroecología", "Energías Renovables", "Danza",
+            "Matemáticas Aplicadas", "Teatro", "Salud Mental", "Robótica", "Economía Circular"};
+    private static final String[] LUGARES = {
+            "Auditorio Principal", "Aula Magna", "Plaza Central", "Polideportivo", "Biblioteca Central",
+            "Laboratorio de Investigación", "Cancha Principal", "Auditorio de Ciencias", "Sala de Conferencias 2",
+            "Campus Universitario"};
+    private static final String[] ORGANIZADORES = {
+            "Facultad de Ingeniería", "Dirección de Bienestar Universitario", "Departamento de Deportes",
+            "Facultad de Ciencias de la Educación", "Centro de Emprendimiento", "Vicerrectoría de Investigación",
+            "Facultad de Ciencias Básicas", "Facultad de Artes"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public GeneradorDatosMasivos(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // Vacía todas las tablas con TRUNCATE en lugar de borrar entidad por entidad
+    public void vaciarTablas() {
+        String motor = jdbcTemplate.execute((ConnectionCallback<String>) conexion ->
+                conexion.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT));
+        if (motor.contains("postgres")) {
+            jdbcTemplate.execute("TRUNCATE TABLE " + String.join(", ", TABLAS) + " CASCADE");
+        } else {
+            // H2 no admite truncar varias tablas enlazadas por llaves foráneas a la vez
+            jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            try {
+                for (String tabla : TABLAS) {
+                    jdbcTemplate.execute("TRUNCATE TABLE " + tabla);
+                }
+            } finally {
+                jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        }
+        vaciarCacheSegundoNivel();
+    }
+
+    public void generar(long eventos, long semilla, int hilos) {
+        long usuarios = Math.max(eventos / 10, 100);
+        long categorias = CATEGORIAS.length;
+        long recordatorios = eventos * 2;
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        logger.info("Generando {} usuarios, {} eventos, ~{} asociaciones y {} recordatorios con {} hilos (semilla {})",
+                usuarios, eventos, eventos * 2, recordatorios, hilos, semilla);
+
+        Generacion generacion = new Generacion(semilla, ahora, usuarios, categorias, eventos);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            // Primero las tablas sin llaves foráneas, luego las que dependen de ellas
+            List<Future<?>> tareas = new ArrayList<>();
+            tareas.addAll(insertar(ejecutor, "usuarios",
+                    "INSERT INTO usuarios (id, creado_en, primer_nombre, segundo_nombre, primer_apellido, "
+                            + "segundo_apellido, fecha_de_nacimiento, telefono) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    usuarios, generacion::usuario));
+            tareas.addAll(insertar(ejecutor, "categorias",
+                    "INSERT INTO categorias (id, creado_en, nombre, descripcion, estado) VALUES (?, ?, ?, ?, ?)",
+                    categorias, generacion::categoria));
+            tareas.addAll(insertar(ejecutor, "eventos",
+                    "INSERT INTO eventos (id, creado_en, nombre, descripcion, ubicacion, cover, fecha_inicio, "
+                            + "fecha_fin, estado, organizador) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    eventos, generacion::evento));
+            esperar(tareas);
+
+            tareas.clear();
+            tareas.addAll(insertarVarios(ejecutor, "eventos_categorias",
+                    "INSERT INTO eventos_categorias (id, creado_en, evento_id, categoria_id) VALUES (?, ?, ?, ?)",
+                    eventos, generacion::eventoCategorias));
+            tareas.addAll(insertar(ejecutor, "recordatorios",
+                    "INSERT INTO recordatorios (id, creado_en, estado, intentos, usuario_id, evento_id) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)",
+                    recordatorios, generacion::recordatorio));
+            esperar(tareas);
+        } finally {
+            ejecutor.shutdown();
+        }
+
+        ajustarSecuencia("usuarios_seq", usuarios);
+        ajustarSecuencia("categorias_seq", categorias);
+        ajustarSecuencia("eventos_seq", eventos);
+        // Cada evento puede tener hasta 3 asociaciones con id evento * 3 + k
+        ajustarSecuencia("eventos_categorias_seq", eventos * 3 + 3);
+        ajustarSecuencia("recordatorios_seq", recordatorios);
+        vaciarCacheSegundoNivel();
+    }
+
+    // Las escrituras por JDBC no pasan por Hibernate: se descarta lo que tenga en caché
+    private void vaciarCacheSegundoNivel() {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+    }
+
+    // Una fila por id, de 1 a total
+    private List<Future<?>> insertar(ExecutorService ejecutor, String tabla, String sql, long total,
+                                     LongFunction<Object[]> fila) {
+        return insertarVarios(ejecutor, tabla, sql, total, id -> List.<Object[]>of(fila.apply(id)));
+    }
+
+    // Cero o más filas por cada id de 1 a total, en bloques que se insertan en paralelo
+    private List<Future<?>> insertarVarios(ExecutorService ejecutor, String tabla, String sql, long total,
+                                           LongFunction<List<Object[]>> filas) {
+        List<Future<?>> tareas = new ArrayList<>();
+        for (long desde = 1; desde <= total; desde += FILAS_POR_LOTE) {
+            long inicio = desde;
+            long fin = Math.min(desde + FILAS_POR_LOTE - 1, total);
+            tareas.add(ejecutor.submit(() -> {
+                List<Object[]> lote = new ArrayList<>(FILAS_POR_LOTE);
+                for (long id = inicio; id <= fin; id++) {
+                    lote.addAll(filas.apply(id));
+                }
+                jdbcTemplate.batchUpdate(sql, lote);
+                if (fin % (FILAS_POR_LOTE * 20L) == 0 || fin == total) {
+                    logger.info("  {}: {} / {}", tabla, fin, total);
+                }
+            }));
+        }
+        return tareas;
+    }
+
+    private void esperar(List<Future<?>> tareas) {
+        try {
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generación interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al insertar datos generados", e.getCause());
+        }
+    }
+
+    // Deja la secuencia por encima del último id asignado a mano
+    private void ajustarSecuencia(String secuencia, long ultimoId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + secuencia + " RESTART WITH " + (ultimoId + BLOQUE_SECUENCIA + 1));
+    }
+
+    // Funciones puras (semilla, id) -> fila
+    private record Generacion(long semilla, LocalDateTime ahora, long usuarios, long categorias, long eventos) {
+
+        private SplittableRandom aleatorio(long tabla, long id) {
+            return new SplittableRandom(semilla ^ (tabla * MEZCLA) ^ (id * 0xBF58476D1CE4E5B9L));
+        }
+
+        Object[] usuario(long id) {
+            SplittableRandom r = aleatorio(1, id);
+            return new Object[]{
+                    id,
+                    ahora,
+                    elegir(r, NOMBRES),
+                    r.nextInt(100) < 60 ? elegir(r, NOMBRES) : null,
+                    elegir(r, APELLIDOS),
+                    r.nextInt(100) < 90 ? elegir(r, APELLIDOS) : null,
+                    LocalDate.of(1975 + r.nextInt(30), 1 + r.nextInt(12), 1 + r.nextInt(28)),
+                    "3" + (100_000_000 + r.nextInt(900_000_000))
+            };
+        }
+
+        Object[] categoria(long id) {
+            String nombre = CATEGORIAS[(int) (id - 1)];
+            return new Object[]{id, ahora, nombre, "Eventos de la categoría " + nombre, "ACTIVO"};
+        }
+
+        Object[] evento(long id) {
+            SplittableRandom r = aleatorio(3, id);
+            String tema = elegir(r, TEMAS);
+            LocalDateTime inicio = inicioEvento(id);
+            LocalDateTime fin = finEvento(id, inicio);
+            return new Object[]{
+                    id,
+                    ahora,
+                    elegir(r, TIPOS_EVENTO) + " " + tema,
+                    "Actividad abierta a la comunidad universitaria sobre " + tema.toLowerCase(Locale.ROOT)
+                            + ". Incluye espacios de participación, preguntas y networking.",
+                    elegir(r, LUGARES) + " - Universidad del Tolima",
+                    "https://ejemplo.com/eventos/" + id + ".jpg",
+                    inicio,
+                    fin,
+                    estadoEvento(id, inicio, fin),
+                    elegir(r, ORGANIZADORES)
+            };
+        }
+
+        // Entre una y tres categorías distintas, sesgadas hacia las primeras (más populares)
+        List<Object[]> eventoCategorias(long eventoId) {
+            SplittableRandom r = aleatorio(4, eventoId);
+            int cantidad = 1 + r.nextInt(3);
+            List<Object[]> filas = new ArrayList<>(cantidad);
+            boolean[] usadas = new boolean[(int) categorias];
+            for (int k = 0; k < cantidad; k++) {
+                int categoria = sesgado(r, (int) categorias, 2.0);
+                if (usadas[categoria]) {
+                    continue;
+                }
+                usadas[categoria] = true;
+                filas.add(new Object[]{eventoId * 3 + k, ahora, eventoId, categoria + 1L});
+            }
+            return filas;
+        }
+
+        // Pocos usuarios concentran muchos recordatorios y los eventos populares reciben más
+        Object[] recordatorio(long id) {
+            SplittableRandom r = aleatorio(5, id);
+            long usuario = 1 + sesgado(r, (int) usuarios, 3.0);
+            long evento = 1 + sesgado(r, (int) eventos, 1.5);
+            LocalDateTime inicio = inicioEvento(evento);
+            String estado;
+            if (inicio.isAfter(ahora)) {
+                estado = r.nextInt(100) < 2 ? "CANCELADO" : "PENDIENTE";
+            } else {
+                estado = r.nextInt(100) < 3 ? "FALLIDO" : "ENVIADO";
+            }
+            return new Object[]{id, ahora, estado, estado.equals("FALLIDO") ? 5 : 0, usuario, evento};
+        }
+
+        // Fechas repartidas en un año alrededor de hoy, en horario de 7 a 19
+        LocalDateTime inicioEvento(long id) {
+            SplittableRandom r = aleatorio(6, id);
+            return ahora.toLocalDate().atStartOfDay()
+                    .plusDays(r.nextInt(-180, 181))
+                    .plusHours(7 + r.nextInt(13))
+                    .plusMinutes(30L * r.nextInt(2));
+        }
+
+        // 10% sin fecha de fin, 5% de varios días, el resto entre 1 y 8 horas
+        LocalDateTime finEvento(long id, LocalDateTime inicio) {
+            SplittableRandom r = aleatorio(7, id);
+            int tipo = r.nextInt(100);
+            if (tipo < 10) {
+                return null;
+            }
+            if (tipo < 15) {
+                return inicio.plusDays(1 + r.nextInt(6)).withHour(18);
+            }
+            return inicio.plusHours(1 + r.nextInt(8));
+        }
+
+        String estadoEvento(long id, LocalDateTime inicio, LocalDateTime fin) {
+            if (aleatorio(8, id).nextInt(100) < 3) {
+                return "CANCELADO";
+            }
+            LocalDateTime finEfectivo = fin == null ? inicio.plusDays(1) : fin;
+            if (inicio.isAfter(ahora)) {
+                return "PROGRAMADO";
+            }
+            return finEfectivo.isAfter(ahora) ? "EN_CURSO" : "FINALIZADO";
+        }
+
+        private static String elegir(SplittableRandom r, String[] opciones) {
+            return opciones[r.nextInt(opciones.length)];
+        }
+
+        // Índice en [0, n) con más probabilidad para los valores bajos (exponente > 1)
+        private static int sesgado(SplittableRandom r, int n, double exponente) {
+            return (int) Math.min(n - 1, (long) (n * Math.pow(r.nextDouble(), exponente)));
+        }
+    }
+}
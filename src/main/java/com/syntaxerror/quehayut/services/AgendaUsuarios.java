@@ -0,0 +1,183 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.AgendaUsuario;
+import com.syntaxerror.quehayut.dto.EntradaAgenda;
+import com.syntaxerror.quehayut.events.EventosModificados;
+import com.syntaxerror.quehayut.events.RecordatoriosModificados;
+import com.syntaxerror.quehayut.events.RegistroCambios;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.Recordatorio;
+import com.syntaxerror.quehayut.models.Usuario;
+import com.syntaxerror.quehayut.repositories.RecordatorioRepository;
+import com.syntaxerror.quehayut.repositories.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Agenda de un usuario: sus recordatorios con el evento y las categorías de cada uno,
+// cargados con una sola consulta (entity graph). Para los usuarios con muchos recordatorios
+// la agenda se mantiene ya armada y se rehace cuando cambian sus recordatorios o sus eventos.
+@Service
+public class AgendaUsuarios {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgendaUsuarios.class);
+
+    private final RecordatorioRepository recordatorioRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final TransactionTemplate transaccionLectura;
+    private final long umbral;
+    private final int maximo;
+
+    private final Map<Long, AgendaUsuario> precalculadas = new ConcurrentHashMap<>();
+    // recordatorio -> usuario de las agendas precalculadas, para ubicar recordatorios ya borrados
+    private final Map<Long, Long> usuarioPorRecordatorio = new ConcurrentHashMap<>();
+
+    public AgendaUsuarios(
+            RecordatorioRepository recordatorioRepository,
+            UsuarioRepository usuarioRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${quehayut.agenda.umbral-precalculo:50}") long umbral,
+            @Value("${quehayut.agenda.max-precalculadas:1000}") int maximo
+    ) {
+        this.recordatorioRepository = recordatorioRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.transaccionLectura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transaccionLectura.setReadOnly(true);
+        this.umbral = umbral;
+        this.maximo = maximo;
+    }
+
+    // Vacío si el usuario no existe. Una agenda precalculada se devuelve sin abrir transacción
+    // ni pedir conexión; solo las demás se arman en una transacción de lectura.
+    public Optional<AgendaUsuario> agenda(Long usuarioId) {
+        AgendaUsuario precalculada = precalculadas.get(usuarioId);
+        if (precalculada != null) {
+            return Optional.of(precalculada);
+        }
+        return transaccionLectura.execute(estado -> usuarioRepository.findById(usuarioId).map(this::construir));
+    }
+
+    boolean estaPrecalculada(Long usuarioId) {
+        return precalculadas.containsKey(usuarioId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void precalcular() {
+        long inicio = System.currentTimeMillis();
+        recordatorioRepository.findUsuariosConAgendaDe(umbral, Limit.of(maximo)).forEach(this::rehacer);
+        logger.info("Agendas precalculadas: {} usuarios con {} o más recordatorios en {} ms",
+                precalculadas.size(), umbral, System.currentTimeMillis() - inicio);
+    }
+
+    // Recordatorios creados, cancelados o enviados: se revisa si cada usuario afectado
+    // entra, sigue o sale del grupo de agendas precalculadas
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void recordatoriosModificados(RecordatoriosModificados cambios) {
+        Set<Long> usuarios = new HashSet<>();
+        for (List<Long> bloque : cambios.bloques()) {
+            usuarios.addAll(recordatorioRepository.findUsuarioIds(bloque));
+        }
+        for (Long recordatorioId : cambios.ids()) {
+            Long usuarioId = usuarioPorRecordatorio.get(recordatorioId);
+            if (usuarioId != null) {
+                usuarios.add(usuarioId);
+            }
+        }
+        if (usuarios.isEmpty()) {
+            return;
+        }
+        Set<Long> conAgendaGrande = new HashSet<>();
+        for (List<Long> bloque : RegistroCambios.enBloques(usuarios)) {
+            conAgendaGrande.addAll(recordatorioRepository.findUsuariosConAgendaDeEntre(umbral, bloque));
+        }
+        for (Long usuarioId : usuarios) {
+            boolean cabe = precalculadas.containsKey(usuarioId) || precalculadas.size() < maximo;
+            if (conAgendaGrande.contains(usuarioId) && cabe) {
+                rehacer(usuarioId);
+            } else {
+                descartar(usuarioId);
+            }
+        }
+    }
+
+    // Un cambio de nombre, fecha o categorías del evento se ve en las agendas que lo incluyen
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void eventosModificados(EventosModificados cambios) {
+        if (precalculadas.isEmpty()) {
+            return;
+        }
+        Set<Long> usuarios = new HashSet<>();
+        for (List<Long> bloque : cambios.bloques()) {
+            usuarios.addAll(recordatorioRepository.findUsuarioIdsPorEventos(bloque));
+        }
+        for (Long usuarioId : usuarios) {
+            if (precalculadas.containsKey(usuarioId)) {
+                rehacer(usuarioId);
+            }
+        }
+    }
+
+    private void rehacer(Long usuarioId) {
+        Optional<Usuario> usuario = usuarioRepository.findById(usuarioId);
+        if (usuario.isEmpty()) {
+            descartar(usuarioId);
+            return;
+        }
+        AgendaUsuario agenda = construir(usuario.get());
+        AgendaUsuario anterior = precalculadas.put(usuarioId, agenda);
+        if (anterior != null) {
+            quitarRecordatorios(anterior.recordatorios());
+        }
+        for (EntradaAgenda entrada : agenda.recordatorios()) {
+            usuarioPorRecordatorio.put(entrada.recordatorioId(), usuarioId);
+        }
+    }
+
+    private void descartar(Long usuarioId) {
+        AgendaUsuario anterior = precalculadas.remove(usuarioId);
+        if (anterior != null) {
+            quitarRecordatorios(anterior.recordatorios());
+        }
+    }
+
+    private void quitarRecordatorios(Collection<EntradaAgenda> entradas) {
+        for (EntradaAgenda entrada : entradas) {
+            usuarioPorRecordatorio.remove(entrada.recordatorioId());
+        }
+    }
+
+    private AgendaUsuario construir(Usuario usuario) {
+        List<EntradaAgenda> entradas = recordatorioRepository.findAgenda(usuario.getId()).stream()
+                .map(AgendaUsuarios::entrada)
+                .toList();
+        return new AgendaUsuario(usuario.getId(), usuario.getPrimerNombre() + " " + usuario.getPrimerApellido(),
+                entradas);
+    }
+
+    private static EntradaAgenda entrada(Recordatorio recordatorio) {
+        Evento evento = recordatorio.getEvento();
+        List<String> categorias = evento.getEventosCategorias().stream()
+                .map(eventoCategoria -> eventoCategoria.getCategoria().getNombre())
+                .toList();
+        return new EntradaAgenda(recordatorio.getId(), recordatorio.getEstado(), evento.getId(), evento.getNombre(),
+                evento.getUbicacion(), evento.getFechaInicio(), evento.getFechaFin(), evento.getEstado(), categorias);
+    }
+}
@@ -0,0 +1,50 @@
+package com.syntaxerror.quehayut.services;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Búfer circular de cambios compartido por todos los suscriptores del stream: cada cambio se
+// serializa una vez y cada suscriptor solo guarda la secuencia del siguiente que le falta.
+// Un solo escritor a la vez (StreamCambiosEventos publica bajo su lock); lectores sin bloqueo.
+final class AnilloCambios {
+
+    record Cambio(long secuencia, String tipo, byte[] json) {
+    }
+
+    private final AtomicReferenceArray<Cambio> cambios;
+    private final int mascara;
+    // Secuencia del último cambio publicado; empiezan en 1
+    private volatile long ultima;
+
+    AnilloCambios(int capacidad) {
+        int tamano = 1;
+        while (tamano < capacidad) {
+            tamano <<= 1;
+        }
+        this.cambios = new AtomicReferenceArray<>(tamano);
+        this.mascara = tamano - 1;
+    }
+
+    long publicar(String tipo, byte[] json) {
+        long secuencia = ultima + 1;
+        cambios.set((int) (secuencia & mascara), new Cambio(secuencia, tipo, json));
+        ultima = secuencia;
+        return secuencia;
+    }
+
+    long ultima() {
+        return ultima;
+    }
+
+    int capacidad() {
+        return mascara + 1;
+    }
+
+    // null si ese cambio ya se sobrescribió (o todavía no existe)
+    Cambio leer(long secuencia) {
+        if (secuencia <= 0 || secuencia > ultima) {
+            return null;
+        }
+        Cambio cambio = cambios.get((int) (secuencia & mascara));
+        return cambio != null && cambio.secuencia() == secuencia ? cambio : null;
+    }
+}
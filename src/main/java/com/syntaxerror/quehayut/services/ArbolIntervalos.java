@@ -0,0 +1,178 @@
+package com.syntaxerror.quehayut.services;
+
+import java.util.function.LongConsumer;
+
+// Árbol AVL ordenado por (inicio, id) y aumentado con el fin máximo de cada subárbol.
+// Las consultas de solapamiento descartan los subárboles cuyo fin máximo queda antes
+// de la ventana y los que empiezan después de ella. No es seguro para hilos.
+final class ArbolIntervalos {
+
+    private static final class Nodo {
+        final long id;
+        final long inicio;
+        long fin;
+        long finMaximo;
+        int altura = 1;
+        Nodo izquierdo;
+        Nodo derecho;
+
+        Nodo(long id, long inicio, long fin) {
+            this.id = id;
+            this.inicio = inicio;
+            this.fin = fin;
+            this.finMaximo = fin;
+        }
+    }
+
+    private Nodo raiz;
+    private int tamano;
+
+    int tamano() {
+        return tamano;
+    }
+
+    // 0 si está vacío; un AVL con n nodos no pasa de 1,44 * log2(n + 2)
+    int altura() {
+        return altura(raiz);
+    }
+
+    void insertar(long id, long inicio, long fin) {
+        raiz = insertar(raiz, id, inicio, fin);
+    }
+
+    void eliminar(long id, long inicio) {
+        raiz = eliminar(raiz, id, inicio);
+    }
+
+    // Emite, en orden de inicio, los ids de los intervalos que se solapan con [desde, hasta]
+    void consultar(long desde, long hasta, LongConsumer consumidor) {
+        consultar(raiz, desde, hasta, consumidor);
+    }
+
+    private void consultar(Nodo nodo, long desde, long hasta, LongConsumer consumidor) {
+        if (nodo == null || nodo.finMaximo < desde) {
+            return;
+        }
+        consultar(nodo.izquierdo, desde, hasta, consumidor);
+        if (nodo.inicio > hasta) {
+            return;
+        }
+        if (nodo.fin >= desde) {
+            consumidor.accept(nodo.id);
+        }
+        consultar(nodo.derecho, desde, hasta, consumidor);
+    }
+
+    private Nodo insertar(Nodo nodo, long id, long inicio, long fin) {
+        if (nodo == null) {
+            tamano++;
+            return new Nodo(id, inicio, fin);
+        }
+        int comparacion = comparar(inicio, id, nodo);
+        if (comparacion < 0) {
+            nodo.izquierdo = insertar(nodo.izquierdo, id, inicio, fin);
+        } else if (comparacion > 0) {
+            nodo.derecho = insertar(nodo.derecho, id, inicio, fin);
+        } else {
+            nodo.fin = fin;
+        }
+        return balancear(nodo);
+    }
+
+    private Nodo eliminar(Nodo nodo, long id, long inicio) {
+        if (nodo == null) {
+            return null;
+        }
+        int comparacion = comparar(inicio, id, nodo);
+        if (comparacion < 0) {
+            nodo.izquierdo = eliminar(nodo.izquierdo, id, inicio);
+        } else if (comparacion > 0) {
+            nodo.derecho = eliminar(nodo.derecho, id, inicio);
+        } else {
+            tamano--;
+            if (nodo.izquierdo == null) {
+                return nodo.derecho;
+            }
+            if (nodo.derecho == null) {
+                return nodo.izquierdo;
+            }
+            Nodo sucesor = minimo(nodo.derecho);
+            sucesor.derecho = eliminarMinimo(nodo.derecho);
+            sucesor.izquierdo = nodo.izquierdo;
+            nodo = sucesor;
+        }
+        return balancear(nodo);
+    }
+
+    private Nodo minimo(Nodo nodo) {
+        while (nodo.izquierdo != null) {
+            nodo = nodo.izquierdo;
+        }
+        return nodo;
+    }
+
+    private Nodo eliminarMinimo(Nodo nodo) {
+        if (nodo.izquierdo == null) {
+            return nodo.derecho;
+        }
+        nodo.izquierdo = eliminarMinimo(nodo.izquierdo);
+        return balancear(nodo);
+    }
+
+    private Nodo balancear(Nodo nodo) {
+        actualizar(nodo);
+        int factor = altura(nodo.izquierdo) - altura(nodo.derecho);
+        if (factor > 1) {
+            if (altura(nodo.izquierdo.izquierdo) < altura(nodo.izquierdo.derecho)) {
+                nodo.izquierdo = rotarIzquierda(nodo.izquierdo);
+            }
+            return rotarDerecha(nodo);
+        }
+        if (factor < -1) {
+            if (altura(nodo.derecho.derecho) < altura(nodo.derecho.izquierdo)) {
+                nodo.derecho = rotarDerecha(nodo.derecho);
+            }
+            return rotarIzquierda(nodo);
+        }
+        return nodo;
+    }
+
+    private Nodo rotarDerecha(Nodo nodo) {
+        Nodo nuevaRaiz = nodo.izquierdo;
+        nodo.izquierdo = nuevaRaiz.derecho;
+        nuevaRaiz.derecho = nodo;
+        actualizar(nodo);
+        actualizar(nuevaRaiz);
+        return nuevaRaiz;
+    }
+
+    private Nodo rotarIzquierda(Nodo nodo) {
+        Nodo nuevaRaiz = nodo.derecho;
+        nodo.derecho = nuevaRaiz.izquierdo;
+        nuevaRaiz.izquierdo = nodo;
+        actualizar(nodo);
+        actualizar(nuevaRaiz);
+        return nuevaRaiz;
+    }
+
+    private void actualizar(Nodo nodo) {
+        nodo.altura = 1 + Math.max(altura(nodo.izquierdo), altura(nodo.derecho));
+        long finMaximo = nodo.fin;
+        if (nodo.izquierdo != null) {
+            finMaximo = Math.max(finMaximo, nodo.izquierdo.finMaximo);
+        }
+        if (nodo.derecho != null) {
+            finMaximo = Math.max(finMaximo, nodo.derecho.finMaximo);
+        }
+        nodo.finMaximo = finMaximo;
+    }
+
+    private static int altura(Nodo nodo) {
+        return nodo == null ? 0 : nodo.altura;
+    }
+
+    private static int comparar(long inicio, long id, Nodo nodo) {
+        int comparacion = Long.compare(inicio, nodo.inicio);
+        return comparacion != 0 ? comparacion : Long.compare(id, nodo.id);
+    }
+}
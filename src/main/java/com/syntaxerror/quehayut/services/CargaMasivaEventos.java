@@ -0,0 +1,120 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.EventoNuevo;
+import com.syntaxerror.quehayut.dto.ResultadoCargaMasiva;
+import com.syntaxerror.quehayut.models.Categoria;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.EventoCategoria;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import com.syntaxerror.quehayut.repositories.CategoriaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+// Inserta muchos eventos con sus categorías en una sola transacción. Los ids vienen de
+// secuencias con asignación en bloques, así que Hibernate puede agrupar los INSERT en
+// lotes JDBC (hibernate.jdbc.batch_size); el contexto se vacía cada lote para no crecer.
+@Service
+public class CargaMasivaEventos {
+
+    public static final int EVENTOS_MAXIMOS = 10_000;
+
+    private final CategoriaRepository categoriaRepository;
+    private final int tamanoLote;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CargaMasivaEventos(
+            CategoriaRepository categoriaRepository,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int tamanoLote
+    ) {
+        this.categoriaRepository = categoriaRepository;
+        this.tamanoLote = tamanoLote;
+    }
+
+    @Transactional
+    public ResultadoCargaMasiva cargar(List<EventoNuevo> nuevos) {
+        validar(nuevos);
+
+        List<Long> ids = new ArrayList<>(nuevos.size());
+        int asociaciones = 0;
+        for (int i = 0; i < nuevos.size(); i++) {
+            EventoNuevo nuevo = nuevos.get(i);
+            Evento evento = aEntidad(nuevo);
+            entityManager.persist(evento);
+            ids.add(evento.getId());
+
+            if (nuevo.categorias() != null) {
+                for (Long categoriaId : nuevo.categorias()) {
+                    EventoCategoria eventoCategoria = new EventoCategoria();
+                    eventoCategoria.setEvento(evento);
+                    // Referencia sin SELECT: solo se necesita la llave foránea
+                    eventoCategoria.setCategoria(entityManager.getReference(Categoria.class, categoriaId));
+                    entityManager.persist(eventoCategoria);
+                    asociaciones++;
+                }
+            }
+
+            if ((i + 1) % tamanoLote == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return new ResultadoCargaMasiva(ids.size(), asociaciones, ids);
+    }
+
+    private void validar(List<EventoNuevo> nuevos) {
+        if (nuevos == null || nuevos.isEmpty()) {
+            throw new IllegalArgumentException("La carga no contiene eventos");
+        }
+        if (nuevos.size() > EVENTOS_MAXIMOS) {
+            throw new IllegalArgumentException("La carga supera el máximo de " + EVENTOS_MAXIMOS + " eventos");
+        }
+
+        Set<Long> categoriaIds = new HashSet<>();
+        for (EventoNuevo nuevo : nuevos) {
+            if (nuevo.nombre() == null || nuevo.nombre().isBlank() || nuevo.fechaInicio() == null) {
+                throw new IllegalArgumentException("Todo evento necesita nombre y fechaInicio");
+            }
+            if (nuevo.categorias() != null) {
+                if (nuevo.categorias().stream().anyMatch(Objects::isNull)) {
+                    throw new IllegalArgumentException("Id de categoría nulo en el evento " + nuevo.nombre());
+                }
+                // El índice único (evento_id, categoria_id) rechazaría el lote completo en el INSERT
+                if (new HashSet<>(nuevo.categorias()).size() != nuevo.categorias().size()) {
+                    throw new IllegalArgumentException("Categoría repetida en el evento " + nuevo.nombre());
+                }
+                categoriaIds.addAll(nuevo.categorias());
+            }
+        }
+
+        // Una sola consulta para todas las categorías referenciadas
+        if (!categoriaIds.isEmpty() && categoriaRepository.findAllById(categoriaIds).size() != categoriaIds.size()) {
+            throw new IllegalArgumentException("La carga referencia categorías que no existen");
+        }
+    }
+
+    private static Evento aEntidad(EventoNuevo nuevo) {
+        Evento evento = new Evento();
+        evento.setNombre(nuevo.nombre());
+        evento.setDescripcion(nuevo.descripcion());
+        evento.setUbicacion(nuevo.ubicacion());
+        evento.setCover(nuevo.cover());
+        evento.setFechaInicio(nuevo.fechaInicio());
+        evento.setFechaFin(nuevo.fechaFin());
+        evento.setEstado(nuevo.estado() == null ? EstadoEvento.PROGRAMADO : nuevo.estado());
+        evento.setOrganizador(nuevo.organizador());
+        return evento;
+    }
+}
@@ -0,0 +1,88 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.events.RegistroCambios;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Avanza el EstadoEvento según las fechas con UPDATE masivos por lotes de ids, sin
+// cargar entidades. Cada lote se confirma en su propia transacción y publica sus ids,
+// así los listeners que refrescan cachés e índices nunca reciben más de IDS_POR_LOTE
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "quehayut.eventos.ciclo-vida.habilitado", havingValue = "true", matchIfMissing = true)
+public class CicloVidaEventos {
+
+    private static final Logger logger = LoggerFactory.getLogger(CicloVidaEventos.class);
+
+    private static final int IDS_POR_LOTE = 1000;
+
+    private final EventoRepository eventoRepository;
+    private final RegistroCambios registroCambios;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration duracionSinFecha;
+
+    public CicloVidaEventos(
+            EventoRepository eventoRepository,
+            RegistroCambios registroCambios,
+            TransactionTemplate transactionTemplate,
+            @Value("${quehayut.eventos.ciclo-vida.duracion-sin-fecha-fin:P1D}") Duration duracionSinFecha
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.registroCambios = registroCambios;
+        this.transactionTemplate = transactionTemplate;
+        this.duracionSinFecha = duracionSinFecha;
+    }
+
+    @Scheduled(fixedDelayString = "${quehayut.eventos.ciclo-vida.intervalo-ms:60000}")
+    public void avanzar() {
+        LocalDateTime ahora = LocalDateTime.now();
+
+        int iniciados = transicion(
+                () -> eventoRepository.findIdsPorIniciar(ahora, Limit.of(IDS_POR_LOTE)),
+                EstadoEvento.EN_CURSO, List.of(EstadoEvento.PROGRAMADO), ahora);
+        int finalizados = transicion(
+                () -> eventoRepository.findIdsPorFinalizar(ahora, ahora.minus(duracionSinFecha), Limit.of(IDS_POR_LOTE)),
+                EstadoEvento.FINALIZADO, List.of(EstadoEvento.PROGRAMADO, EstadoEvento.EN_CURSO), ahora);
+
+        if (iniciados > 0 || finalizados > 0) {
+            logger.info("Ciclo de vida de eventos: {} en curso, {} finalizados", iniciados, finalizados);
+        }
+    }
+
+    // Cada lote actualizado deja de cumplir la condición, así que se repite hasta agotarla
+    private int transicion(
+            Supplier<List<Long>> candidatos,
+            EstadoEvento estado,
+            List<EstadoEvento> estadosPrevios,
+            LocalDateTime ahora) {
+        int cambiados = 0;
+        List<Long> lote;
+        do {
+            lote = transactionTemplate.execute(transaccion -> {
+                List<Long> ids = candidatos.get();
+                if (!ids.isEmpty()) {
+                    eventoRepository.actualizarEstado(ids, estado, estadosPrevios, ahora);
+                    // Se publican al confirmar la transacción de este lote
+                    registroCambios.registrarEventos(ids);
+                }
+                return ids;
+            });
+            cambiados += lote.size();
+        } while (lote.size() == IDS_POR_LOTE);
+        return cambiados;
+    }
+}
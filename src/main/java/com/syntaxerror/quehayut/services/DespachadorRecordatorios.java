@@ -0,0 +1,220 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.RecordatorioEnvio;
+import com.syntaxerror.quehayut.events.RegistroCambios;
+import com.syntaxerror.quehayut.models.Recordatorio;
+import com.syntaxerror.quehayut.repositories.RecordatorioRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Despacha recordatorios por lotes en tres pasos: una transacción corta reclama filas con
+// SKIP LOCKED y las reserva (proximoIntento = ahora + reserva), la entrega en paralelo a
+// través del EnviadorRecordatorios se hace sin transacción ni conexión, y otra transacción
+// escribe el resultado con un UPDATE por grupo. Los FALLIDO se reintentan con espera
+// exponencial; si el proceso cae a mitad de la entrega, la reserva vence y se reintentan.
+//
+// El disparo normal lo hace ProgramadorRecordatorios con una rueda de temporización;
+// el barrido periódico solo recoge lo que no pasó por ella (cargas masivas, reinicios).
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "quehayut.recordatorios.habilitado", havingValue = "true", matchIfMissing = true)
+public class DespachadorRecordatorios {
+
+    private static final Logger logger = LoggerFactory.getLogger(DespachadorRecordatorios.class);
+
+    private final RecordatorioRepository recordatorioRepository;
+    private final EnviadorRecordatorios enviador;
+    private final RegistroCambios registroCambios;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int tamanoLote;
+    private final int maxIntentos;
+    private final Duration anticipacion;
+    private final Duration esperaBase;
+    private final Duration reserva;
+
+    // Hilos virtuales: la entrega es E/S, el límite real lo pone el semáforo
+    private final ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore enviosSimultaneos;
+
+    public DespachadorRecordatorios(
+            RecordatorioRepository recordatorioRepository,
+            EnviadorRecordatorios enviador,
+            RegistroCambios registroCambios,
+            TransactionTemplate transactionTemplate,
+            @Value("${quehayut.recordatorios.tamano-lote:500}") int tamanoLote,
+            @Value("${quehayut.recordatorios.concurrencia:64}") int concurrencia,
+            @Value("${quehayut.recordatorios.max-intentos:5}") int maxIntentos,
+            @Value("${quehayut.recordatorios.anticipacion:PT1H}") Duration anticipacion,
+            @Value("${quehayut.recordatorios.espera-base:PT30S}") Duration esperaBase,
+            @Value("${quehayut.recordatorios.reserva:PT5M}") Duration reserva
+    ) {
+        this.recordatorioRepository = recordatorioRepository;
+        this.enviador = enviador;
+        this.registroCambios = registroCambios;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanoLote = tamanoLote;
+        this.maxIntentos = maxIntentos;
+        this.anticipacion = anticipacion;
+        this.esperaBase = esperaBase;
+        this.reserva = reserva;
+        this.enviosSimultaneos = new Semaphore(concurrencia);
+    }
+
+    // Despacha recordatorios concretos, en lotes de tamanoLote
+    public void despachar(List<Long> ids) {
+        for (int desde = 0; desde < ids.size(); desde += tamanoLote) {
+            List<Long> bloque = ids.subList(desde, Math.min(desde + tamanoLote, ids.size()));
+            procesarLote(ahora -> recordatorioRepository.reclamarPorIds(bloque, ahora));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quehayut.recordatorios.barrido-ms:300000}")
+    public void barrer() {
+        int total = 0;
+        int procesados;
+        // Se siguen reclamando lotes mientras vengan llenos
+        do {
+            procesados = procesarLote(ahora -> recordatorioRepository.reclamarVencidos(
+                    ahora, ahora.plus(anticipacion), maxIntentos, Limit.of(tamanoLote)));
+            total += procesados;
+        } while (procesados == tamanoLote);
+
+        if (total > 0) {
+            logger.info("Recordatorios despachados por barrido: {}", total);
+        }
+    }
+
+    // Devuelve cuántos recordatorios se reclamaron
+    private int procesarLote(Function<LocalDateTime, List<Recordatorio>> reclamar) {
+        List<RecordatorioEnvio> envios = reclamar(reclamar);
+        if (envios.isEmpty()) {
+            return 0;
+        }
+
+        List<Future<?>> entregas = new ArrayList<>(envios.size());
+        for (RecordatorioEnvio envio : envios) {
+            entregas.add(ejecutor.submit(() -> entregar(envio)));
+        }
+
+        List<Long> enviados = new ArrayList<>();
+        List<RecordatorioEnvio> fallidos = new ArrayList<>();
+        for (int i = 0; i < envios.size(); i++) {
+            if (esperarEntrega(entregas.get(i), envios.get(i))) {
+                enviados.add(envios.get(i).recordatorioId());
+            } else {
+                fallidos.add(envios.get(i));
+            }
+        }
+
+        registrarResultado(enviados, fallidos);
+        if (!fallidos.isEmpty()) {
+            logger.warn("Recordatorios fallidos en el lote: {} de {}", fallidos.size(), envios.size());
+        }
+        return envios.size();
+    }
+
+    // Transacción corta: los bloqueos de SKIP LOCKED duran hasta reservar las filas, no toda la entrega
+    private List<RecordatorioEnvio> reclamar(Function<LocalDateTime, List<Recordatorio>> reclamar) {
+        return transactionTemplate.execute(estado -> {
+            LocalDateTime ahora = LocalDateTime.now();
+            List<RecordatorioEnvio> envios = reclamar.apply(ahora).stream()
+                    .map(DespachadorRecordatorios::aEnvio)
+                    .toList();
+            if (!envios.isEmpty()) {
+                recordatorioRepository.reservar(
+                        envios.stream().map(RecordatorioEnvio::recordatorioId).toList(), ahora.plus(reserva));
+            }
+            return envios;
+        });
+    }
+
+    private void registrarResultado(List<Long> enviados, List<RecordatorioEnvio> fallidos) {
+        transactionTemplate.executeWithoutResult(estado -> {
+            LocalDateTime ahora = LocalDateTime.now();
+            if (!enviados.isEmpty()) {
+                recordatorioRepository.marcarEnviados(enviados, ahora);
+            }
+            // Un UPDATE por número de intentos, porque de él depende la espera del próximo reintento
+            Map<Integer, List<Long>> fallidosPorIntentos = fallidos.stream().collect(Collectors.groupingBy(
+                    envio -> envio.intentos() + 1,
+                    Collectors.mapping(RecordatorioEnvio::recordatorioId, Collectors.toList())));
+            fallidosPorIntentos.forEach((intentos, ids) ->
+                    recordatorioRepository.marcarFallidos(ids, intentos, ahora.plus(espera(intentos)), ahora));
+
+            // Los UPDATE masivos no pasan por los listeners JPA; se notifica a mano para que
+            // los reintentos se programen y las agendas dejen de mostrar los enviados como PENDIENTE
+            registroCambios.registrarRecordatorios(enviados);
+            registroCambios.registrarRecordatorios(
+                    fallidos.stream().map(RecordatorioEnvio::recordatorioId).toList());
+        });
+    }
+
+    private Void entregar(RecordatorioEnvio envio) throws Exception {
+        enviosSimultaneos.acquire();
+        try {
+            enviador.enviar(envio);
+            return null;
+        } finally {
+            enviosSimultaneos.release();
+        }
+    }
+
+    private boolean esperarEntrega(Future<?> entrega, RecordatorioEnvio envio) {
+        try {
+            entrega.get();
+            return true;
+        } catch (ExecutionException e) {
+            logger.debug("Fallo al enviar el recordatorio {}", envio.recordatorioId(), e.getCause());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // esperaBase * 2^(intentos - 1), acotado a un día
+    private Duration espera(int intentos) {
+        Duration espera = esperaBase.multipliedBy(1L << Math.min(intentos - 1, 20));
+        return espera.compareTo(Duration.ofDays(1)) > 0 ? Duration.ofDays(1) : espera;
+    }
+
+    private static RecordatorioEnvio aEnvio(Recordatorio recordatorio) {
+        return new RecordatorioEnvio(
+                recordatorio.getId(),
+                recordatorio.getIntentos(),
+                recordatorio.getUsuario().getId(),
+                recordatorio.getUsuario().getPrimerNombre() + " " + recordatorio.getUsuario().getPrimerApellido(),
+                recordatorio.getUsuario().getTelefono(),
+                recordatorio.getEvento().getId(),
+                recordatorio.getEvento().getNombre(),
+                recordatorio.getEvento().getUbicacion(),
+                recordatorio.getEvento().getFechaInicio());
+    }
+
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdown();
+    }
+}
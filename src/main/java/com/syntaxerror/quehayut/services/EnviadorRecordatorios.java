@@ -0,0 +1,11 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.RecordatorioEnvio;
+
+// Canal de entrega de recordatorios (SMS, push, correo...). Se invoca desde varios
+// hilos a la vez, así que las implementaciones deben ser seguras para hilos.
+public interface EnviadorRecordatorios {
+
+    // Lanza una excepción si la entrega falla; el recordatorio quedará FALLIDO y se reintentará
+    void enviar(RecordatorioEnvio recordatorio) throws Exception;
+}
@@ -0,0 +1,47 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.RecordatorioEnvio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Enviador de desarrollo y pruebas: solo registra el envío en el log. Con
+// quehayut.recordatorios.local.tasa-fallos se pueden simular fallos para probar reintentos.
+// Una implementación real debe declararse como @Primary.
+@Component
+public class EnviadorRecordatoriosLocal implements EnviadorRecordatorios {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnviadorRecordatoriosLocal.class);
+
+    private final double tasaFallos;
+    private final AtomicLong enviados = new AtomicLong();
+    private final AtomicLong fallidos = new AtomicLong();
+
+    public EnviadorRecordatoriosLocal(@Value("${quehayut.recordatorios.local.tasa-fallos:0}") double tasaFallos) {
+        this.tasaFallos = tasaFallos;
+    }
+
+    @Override
+    public void enviar(RecordatorioEnvio recordatorio) throws Exception {
+        if (ThreadLocalRandom.current().nextDouble() < tasaFallos) {
+            fallidos.incrementAndGet();
+            throw new IllegalStateException("Fallo simulado al enviar el recordatorio " + recordatorio.recordatorioId());
+        }
+        enviados.incrementAndGet();
+        logger.debug("Recordatorio {} para {} ({}): {} el {}",
+                recordatorio.recordatorioId(), recordatorio.nombreUsuario(), recordatorio.telefono(),
+                recordatorio.nombreEvento(), recordatorio.fechaInicio());
+    }
+
+    public long getEnviados() {
+        return enviados.get();
+    }
+
+    public long getFallidos() {
+        return fallidos.get();
+    }
+}
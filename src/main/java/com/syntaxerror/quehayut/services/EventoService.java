@@ -0,0 +1,235 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.CursorEvento;
+import com.syntaxerror.quehayut.dto.FiltroEventos;
+import com.syntaxerror.quehayut.dto.PaginaEventos;
+import com.syntaxerror.quehayut.events.EventosModificados;
+import com.syntaxerror.quehayut.events.RegistroCambios;
+import com.syntaxerror.quehayut.models.Categoria;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.repositories.CategoriaRepository;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import jakarta.persistence.Tuple;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+public class EventoService {
+
+    public static final String CACHE_EVENTOS = "eventos";
+
+    // Campos de Evento que se pueden pedir con ?fields=
+    public static final Set<String> CAMPOS_PROYECTABLES = Set.of(
+            "id", "nombre", "descripcion", "ubicacion", "cover", "fechaInicio",
+            "fechaFin", "estado", "organizador", "createdAt", "updatedAt");
+
+    private static final Logger logger = LoggerFactory.getLogger(EventoService.class);
+
+    private final EventoRepository eventoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final IndiceBusquedaEventos indiceBusqueda;
+    private final IndiceCategoriasEventos indiceCategorias;
+    private final IndiceIntervalosEventos indiceIntervalos;
+
+    public EventoService(
+            EventoRepository eventoRepository,
+            CategoriaRepository categoriaRepository,
+            IndiceBusquedaEventos indiceBusqueda,
+            IndiceCategoriasEventos indiceCategorias,
+            IndiceIntervalosEventos indiceIntervalos
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.indiceBusqueda = indiceBusqueda;
+        this.indiceCategorias = indiceCategorias;
+        this.indiceIntervalos = indiceIntervalos;
+    }
+
+    @Cacheable(cacheNames = CACHE_EVENTOS, key = "'todos'")
+    @Transactional(readOnly = true)
+    public List<Evento> listarTodos() {
+        return eventoRepository.findAll();
+    }
+
+    // La clave de caché es la combinación (cursor, tamano)
+    @Cacheable(cacheNames = CACHE_EVENTOS)
+    @Transactional(readOnly = true)
+    public PaginaEventos<Evento> pagina(CursorEvento cursor, int tamano) {
+        // Se pide un registro extra para saber si existe una página siguiente
+        Limit consulta = Limit.of(tamano + 1);
+        List<Evento> eventos = cursor == null
+                ? eventoRepository.findPrimeraPagina(consulta)
+                : eventoRepository.findPaginaDespuesDe(cursor.fechaInicio(), cursor.id(), consulta);
+
+        if (eventos.size() <= tamano) {
+            return new PaginaEventos<>(eventos, null);
+        }
+        List<Evento> visibles = List.copyOf(eventos.subList(0, tamano));
+        return new PaginaEventos<>(visibles, CursorEvento.de(visibles.get(tamano - 1)).codificar());
+    }
+
+    // Proyección de columnas para ?fields=; tamano null devuelve todas las filas sin cursor.
+    // id y fechaInicio siempre se consultan porque forman el cursor, pero solo se
+    // devuelven si se pidieron.
+    @Cacheable(cacheNames = CACHE_EVENTOS)
+    @Transactional(readOnly = true)
+    public PaginaEventos<Map<String, Object>> proyeccion(List<String> campos, CursorEvento cursor, Integer tamano) {
+        List<Tuple> filas = eventoRepository.findCampos(
+                seleccion(campos),
+                cursor == null ? null : cursor.fechaInicio(),
+                cursor == null ? null : cursor.id(),
+                tamano == null ? null : tamano + 1);
+
+        boolean haySiguiente = tamano != null && filas.size() > tamano;
+        return paginaProyectada(haySiguiente ? filas.subList(0, tamano) : filas, campos, haySiguiente);
+    }
+
+    private static Set<String> seleccion(List<String> campos) {
+        Set<String> seleccion = new LinkedHashSet<>(campos);
+        seleccion.add("fechaInicio");
+        seleccion.add("id");
+        return seleccion;
+    }
+
+    private static PaginaEventos<Map<String, Object>> paginaProyectada(
+            List<Tuple> filas, List<String> campos, boolean haySiguiente) {
+        List<Map<String, Object>> eventos = new ArrayList<>(filas.size());
+        for (Tuple fila : filas) {
+            Map<String, Object> evento = new LinkedHashMap<>();
+            for (String campo : campos) {
+                evento.put(campo, fila.get(campo));
+            }
+            eventos.add(evento);
+        }
+
+        String siguienteCursor = null;
+        if (haySiguiente && !filas.isEmpty()) {
+            Tuple ultima = filas.get(filas.size() - 1);
+            siguienteCursor = new CursorEvento(ultima.get("fechaInicio", LocalDateTime.class),
+                    ultima.get("id", Long.class)).codificar();
+        }
+        return new PaginaEventos<>(eventos, siguienteCursor);
+    }
+
+    // Busca en el índice invertido y carga solo los eventos encontrados, en orden de relevancia
+    @Transactional(readOnly = true)
+    public List<Evento> buscar(String consulta, int limite) {
+        List<Long> ids = indiceBusqueda.buscar(consulta, limite).stream()
+                .map(IndiceBusquedaEventos.Resultado::eventoId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Evento> porId = new HashMap<>();
+        for (Evento evento : eventoRepository.findAllById(ids)) {
+            porId.put(evento.getId(), evento);
+        }
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // Filtros resueltos sobre los índices en memoria y combinados como intersección de bitmaps;
+    // el orden (fechaInicio, id) y el cursor también se resuelven en el índice de intervalos,
+    // y de la base solo se cargan los eventos de la página.
+    // Las ventanas suelen ser relativas a "ahora" y no se repiten, por eso no se cachean.
+    @Cacheable(cacheNames = CACHE_EVENTOS, condition = "!#filtro.porVentana()")
+    @Transactional(readOnly = true)
+    public List<Evento> filtrar(FiltroEventos filtro) {
+        return cargar(idsFiltrados(filtro, null, null));
+    }
+
+    @Cacheable(cacheNames = CACHE_EVENTOS, condition = "!#filtro.porVentana()")
+    @Transactional(readOnly = true)
+    public PaginaEventos<Evento> paginaFiltrada(FiltroEventos filtro, CursorEvento cursor, int tamano) {
+        List<Long> ids = idsFiltrados(filtro, cursor, tamano + 1);
+        boolean haySiguiente = ids.size() > tamano;
+        List<Evento> eventos = cargar(haySiguiente ? ids.subList(0, tamano) : ids);
+        String siguienteCursor = haySiguiente && !eventos.isEmpty()
+                ? CursorEvento.de(eventos.get(eventos.size() - 1)).codificar()
+                : null;
+        return new PaginaEventos<>(eventos, siguienteCursor);
+    }
+
+    @Cacheable(cacheNames = CACHE_EVENTOS, condition = "!#filtro.porVentana()")
+    @Transactional(readOnly = true)
+    public PaginaEventos<Map<String, Object>> proyeccionFiltrada(
+            FiltroEventos filtro, List<String> campos, CursorEvento cursor, Integer tamano) {
+        List<Long> ids = idsFiltrados(filtro, cursor, tamano == null ? null : tamano + 1);
+        boolean haySiguiente = tamano != null && ids.size() > tamano;
+        if (haySiguiente) {
+            ids = ids.subList(0, tamano);
+        }
+
+        Map<Long, Tuple> porId = new HashMap<>();
+        for (List<Long> bloque : RegistroCambios.enBloques(ids)) {
+            for (Tuple fila : eventoRepository.findCamposPorIds(seleccion(campos), bloque)) {
+                porId.put(fila.get("id", Long.class), fila);
+            }
+        }
+        List<Tuple> filas = ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+        return paginaProyectada(filas, campos, haySiguiente);
+    }
+
+    private List<Long> idsFiltrados(FiltroEventos filtro, CursorEvento cursor, Integer cantidad) {
+        Roaring64Bitmap eventos = null;
+        if (filtro.porCategoria()) {
+            List<Long> categoriaIds = filtro.categorias().stream().map(this::resolverCategoria).toList();
+            eventos = indiceCategorias.filtrar(categoriaIds, filtro.todas());
+        }
+        // Sin ningún filtro la ventana abierta devuelve todos los eventos
+        if (filtro.porVentana() || eventos == null) {
+            Roaring64Bitmap enVentana = indiceIntervalos.enVentana(filtro.desde(), filtro.hasta());
+            if (eventos == null) {
+                eventos = enVentana;
+            } else {
+                eventos.and(enVentana);
+            }
+        }
+        return indiceIntervalos.ordenar(eventos, cursor, cantidad);
+    }
+
+    private Long resolverCategoria(String categoria) {
+        if (categoria.chars().allMatch(Character::isDigit)) {
+            return Long.valueOf(categoria);
+        }
+        return categoriaRepository.findByNombre(categoria)
+                .map(Categoria::getId)
+                .orElseThrow(() -> new IllegalArgumentException("Categoría desconocida: " + categoria));
+    }
+
+    // Carga los eventos en bloques de ids y los devuelve en el orden de ids; los que ya no existen se omiten
+    private List<Evento> cargar(List<Long> ids) {
+        Map<Long, Evento> porId = new HashMap<>();
+        for (List<Long> bloque : RegistroCambios.enBloques(ids)) {
+            eventoRepository.findAllById(bloque).forEach(evento -> porId.put(evento.getId(), evento));
+        }
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+
+    // Un cambio en un evento puede mover su posición en cualquier página,
+    // así que se descartan todas las entradas del listado
+    @EventListener
+    @CacheEvict(cacheNames = CACHE_EVENTOS, allEntries = true)
+    public void invalidar(EventosModificados cambios) {
+        logger.debug("Invalidando caché de eventos por cambios en {} eventos", cambios.ids().size());
+    }
+}
@@ -0,0 +1,225 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.events.EventosModificados;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Índice invertido en memoria sobre nombre, descripción, organizador y ubicación
+// de los eventos, con plegado de tildes y ranking BM25
+@Component
+public class IndiceBusquedaEventos {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndiceBusquedaEventos.class);
+
+    // Parámetros estándar de BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Peso de cada campo en la frecuencia del término (BM25F simplificado)
+    private static final int PESO_NOMBRE = 3;
+    private static final int PESO_ORGANIZADOR = 2;
+    private static final int PESO_UBICACION = 2;
+    private static final int PESO_DESCRIPCION = 1;
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "a", "al", "con", "de", "del", "el", "en", "es", "la", "las", "lo", "los",
+            "o", "para", "por", "que", "se", "sin", "su", "sus", "un", "una", "y");
+
+    private final EventoRepository eventoRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // término -> (id de evento -> frecuencia ponderada)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // id de evento -> términos indexados, para poder retirarlo sin recorrer el índice
+    private final Map<Long, Set<String>> terminosPorEvento = new HashMap<>();
+    // id de evento -> longitud ponderada del documento
+    private final Map<Long, Integer> longitudes = new HashMap<>();
+    private long longitudTotal;
+
+    public IndiceBusquedaEventos(EventoRepository eventoRepository) {
+        this.eventoRepository = eventoRepository;
+    }
+
+    public record Resultado(Long eventoId, double puntaje) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construir() {
+        long inicio = System.currentTimeMillis();
+        int indexados = 0;
+        try (Stream<Evento> eventos = eventoRepository.streamTodos()) {
+            for (Evento evento : (Iterable<Evento>) eventos::iterator) {
+                indexar(evento);
+                entityManager.detach(evento);
+                indexados++;
+            }
+        }
+        logger.info("Índice de búsqueda construido: {} eventos, {} términos en {} ms",
+                indexados, postings.size(), System.currentTimeMillis() - inicio);
+    }
+
+    // Actualización incremental: solo se reindexan los eventos que cambiaron
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void actualizar(EventosModificados cambios) {
+        Set<Long> pendientes = new HashSet<>(cambios.ids());
+        for (List<Long> bloque : cambios.bloques()) {
+            for (Evento evento : eventoRepository.findAllById(bloque)) {
+                indexar(evento);
+                pendientes.remove(evento.getId());
+            }
+            entityManager.clear();
+        }
+        // Los que ya no existen fueron eliminados
+        pendientes.forEach(this::retirar);
+    }
+
+    public List<Resultado> buscar(String consulta, int limite) {
+        List<String> terminos = tokenizar(consulta);
+        if (terminos.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int totalDocumentos = longitudes.size();
+            if (totalDocumentos == 0) {
+                return List.of();
+            }
+            double longitudPromedio = (double) longitudTotal / totalDocumentos;
+
+            Map<Long, Double> puntajes = new HashMap<>();
+            for (String termino : new HashSet<>(terminos)) {
+                Map<Long, Integer> documentos = postings.get(termino);
+                if (documentos == null) {
+                    continue;
+                }
+                int df = documentos.size();
+                double idf = Math.log(1 + (totalDocumentos - df + 0.5) / (df + 0.5));
+                for (Map.Entry<Long, Integer> entrada : documentos.entrySet()) {
+                    int tf = entrada.getValue();
+                    double normalizacion = 1 - B + B * longitudes.get(entrada.getKey()) / longitudPromedio;
+                    double puntaje = idf * (tf * (K1 + 1)) / (tf + K1 * normalizacion);
+                    puntajes.merge(entrada.getKey(), puntaje, Double::sum);
+                }
+            }
+
+            // Top-k con un montículo acotado en lugar de ordenar todos los candidatos
+            PriorityQueue<Resultado> mejores = new PriorityQueue<>(Comparator.comparingDouble(Resultado::puntaje));
+            for (Map.Entry<Long, Double> entrada : puntajes.entrySet()) {
+                mejores.offer(new Resultado(entrada.getKey(), entrada.getValue()));
+                if (mejores.size() > limite) {
+                    mejores.poll();
+                }
+            }
+            List<Resultado> resultados = new ArrayList<>(mejores);
+            resultados.sort(Comparator.comparingDouble(Resultado::puntaje).reversed());
+            return resultados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void indexar(Evento evento) {
+        Map<String, Integer> frecuencias = new HashMap<>();
+        acumular(frecuencias, evento.getNombre(), PESO_NOMBRE);
+        acumular(frecuencias, evento.getOrganizador(), PESO_ORGANIZADOR);
+        acumular(frecuencias, evento.getUbicacion(), PESO_UBICACION);
+        acumular(frecuencias, evento.getDescripcion(), PESO_DESCRIPCION);
+        int longitud = frecuencias.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            retirarSinBloqueo(evento.getId());
+            for (Map.Entry<String, Integer> entrada : frecuencias.entrySet()) {
+                postings.computeIfAbsent(entrada.getKey(), termino -> new HashMap<>())
+                        .put(evento.getId(), entrada.getValue());
+            }
+            terminosPorEvento.put(evento.getId(), frecuencias.keySet());
+            longitudes.put(evento.getId(), longitud);
+            longitudTotal += longitud;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void retirar(Long eventoId) {
+        lock.writeLock().lock();
+        try {
+            retirarSinBloqueo(eventoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void retirarSinBloqueo(Long eventoId) {
+        Set<String> terminos = terminosPorEvento.remove(eventoId);
+        if (terminos == null) {
+            return;
+        }
+        for (String termino : terminos) {
+            Map<Long, Integer> documentos = postings.get(termino);
+            documentos.remove(eventoId);
+            if (documentos.isEmpty()) {
+                postings.remove(termino);
+            }
+        }
+        longitudTotal -= longitudes.remove(eventoId);
+    }
+
+    private static void acumular(Map<String, Integer> frecuencias, String texto, int peso) {
+        for (String termino : tokenizar(texto)) {
+            frecuencias.merge(termino, peso, Integer::sum);
+        }
+    }
+
+    // Minúsculas sin tildes ("Música" -> "musica"); la ñ se pliega a n igual que en la consulta
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String plegado = MARCAS_DIACRITICAS
+                .matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> terminos = new ArrayList<>();
+        for (String termino : SEPARADORES.split(plegado)) {
+            if (termino.length() > 1 && !PALABRAS_VACIAS.contains(termino)) {
+                terminos.add(termino);
+            }
+        }
+        return terminos;
+    }
+}
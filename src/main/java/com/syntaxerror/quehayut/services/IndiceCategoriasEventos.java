@@ -0,0 +1,108 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.ParEventoCategoria;
+import com.syntaxerror.quehayut.events.EventosModificados;
+import com.syntaxerror.quehayut.repositories.EventoCategoriaRepository;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Un bitmap comprimido (Roaring, de 64 bits porque los ids son Long) de ids de evento
+// por categoría; los filtros por varias categorías se resuelven como intersección o unión de bitmaps
+@Component
+public class IndiceCategoriasEventos {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndiceCategoriasEventos.class);
+
+    private final EventoCategoriaRepository eventoCategoriaRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Roaring64Bitmap> eventosPorCategoria = new HashMap<>();
+
+    public IndiceCategoriasEventos(EventoCategoriaRepository eventoCategoriaRepository) {
+        this.eventoCategoriaRepository = eventoCategoriaRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construir() {
+        long inicio = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try (Stream<ParEventoCategoria> pares = eventoCategoriaRepository.streamPares()) {
+            eventosPorCategoria.clear();
+            pares.forEach(this::agregarSinBloqueo);
+            eventosPorCategoria.values().forEach(Roaring64Bitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Índice de categorías construido: {} categorías en {} ms",
+                eventosPorCategoria.size(), System.currentTimeMillis() - inicio);
+    }
+
+    // Los eventos modificados se retiran de todos los bitmaps y se vuelven a
+    // agregar con sus asociaciones actuales. Corre antes de que EventoService vacíe la caché
+    // de listados, que se vuelve a llenar desde este índice
+    @EventListener
+    @Order(1)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void actualizar(EventosModificados cambios) {
+        List<ParEventoCategoria> pares = new ArrayList<>();
+        for (List<Long> bloque : cambios.bloques()) {
+            pares.addAll(eventoCategoriaRepository.findParesPorEventos(bloque));
+        }
+
+        Roaring64Bitmap modificados = new Roaring64Bitmap();
+        cambios.ids().forEach(modificados::addLong);
+
+        lock.writeLock().lock();
+        try {
+            eventosPorCategoria.values().forEach(bitmap -> bitmap.andNot(modificados));
+            pares.forEach(this::agregarSinBloqueo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // todas = true: eventos que tienen todas las categorías (AND); false: alguna (OR)
+    public Roaring64Bitmap filtrar(Collection<Long> categoriaIds, boolean todas) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap resultado = null;
+            for (Long categoriaId : categoriaIds) {
+                Roaring64Bitmap bitmap = eventosPorCategoria.getOrDefault(categoriaId, new Roaring64Bitmap());
+                if (resultado == null) {
+                    // Copia: el resultado se modifica fuera del lock
+                    resultado = new Roaring64Bitmap();
+                    resultado.or(bitmap);
+                } else if (todas) {
+                    resultado.and(bitmap);
+                } else {
+                    resultado.or(bitmap);
+                }
+            }
+            return resultado == null ? new Roaring64Bitmap() : resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void agregarSinBloqueo(ParEventoCategoria par) {
+        eventosPorCategoria.computeIfAbsent(par.categoriaId(), id -> new Roaring64Bitmap())
+                .addLong(par.eventoId());
+    }
+}
@@ -0,0 +1,167 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.CursorEvento;
+import com.syntaxerror.quehayut.dto.IntervaloEvento;
+import com.syntaxerror.quehayut.events.EventosModificados;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Índice de intervalos [fechaInicio, fechaFin] para consultas por ventana de tiempo
+// en O(log n + k). Un evento sin fechaFin dura quehayut.eventos.ciclo-vida.duracion-sin-fecha-fin,
+// igual que para CicloVidaEventos, que lo marca EN_CURSO durante ese tiempo.
+// Las fechas se guardan en microsegundos, la precisión de timestamp en PostgreSQL, así el
+// orden (inicio, id) coincide con el de la paginación por cursor.
+@Component
+public class IndiceIntervalosEventos {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndiceIntervalosEventos.class);
+
+    private static final Comparator<long[]> POR_INICIO_E_ID =
+            Comparator.<long[]>comparingLong(par -> par[0]).thenComparingLong(par -> par[1]);
+
+    private final EventoRepository eventoRepository;
+    private final long duracionSinFecha;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ArbolIntervalos arbol = new ArbolIntervalos();
+    // id de evento -> inicio indexado, necesario para ubicarlo en el árbol al eliminarlo
+    private final Map<Long, Long> inicios = new HashMap<>();
+
+    public IndiceIntervalosEventos(
+            EventoRepository eventoRepository,
+            @Value("${quehayut.eventos.ciclo-vida.duracion-sin-fecha-fin:P1D}") Duration duracionSinFecha
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.duracionSinFecha = duracionSinFecha.toNanos() / 1_000;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construir() {
+        long inicio = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try (Stream<IntervaloEvento> intervalos = eventoRepository.streamIntervalos()) {
+            intervalos.forEach(this::indexarSinBloqueo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Índice de intervalos construido: {} eventos en {} ms",
+                arbol.tamano(), System.currentTimeMillis() - inicio);
+    }
+
+    // Antes de que EventoService vacíe la caché de listados, que se vuelve a llenar desde este índice
+    @EventListener
+    @Order(1)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void actualizar(EventosModificados cambios) {
+        List<IntervaloEvento> intervalos = new ArrayList<>();
+        for (List<Long> bloque : cambios.bloques()) {
+            intervalos.addAll(eventoRepository.findIntervalos(bloque));
+        }
+
+        lock.writeLock().lock();
+        try {
+            Set<Long> eliminados = new HashSet<>(cambios.ids());
+            for (IntervaloEvento intervalo : intervalos) {
+                indexarSinBloqueo(intervalo);
+                eliminados.remove(intervalo.eventoId());
+            }
+            eliminados.forEach(this::retirarSinBloqueo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Eventos que se solapan con [desde, hasta]; null en un extremo deja la ventana abierta
+    public Roaring64Bitmap enVentana(LocalDateTime desde, LocalDateTime hasta) {
+        long limiteInferior = desde == null ? Long.MIN_VALUE : microsegundos(desde);
+        long limiteSuperior = hasta == null ? Long.MAX_VALUE : microsegundos(hasta);
+
+        Roaring64Bitmap resultado = new Roaring64Bitmap();
+        lock.readLock().lock();
+        try {
+            arbol.consultar(limiteInferior, limiteSuperior, resultado::addLong);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resultado;
+    }
+
+    // Los candidatos ordenados por (fechaInicio, id) que van después del cursor, a lo sumo cantidad
+    // (null = todos). Recorre los candidatos y no el árbol, así un filtro chico cuesta poco aunque
+    // el índice tenga millones de eventos. Los que todavía no están indexados se omiten.
+    public List<Long> ordenar(Roaring64Bitmap candidatos, CursorEvento despuesDe, Integer cantidad) {
+        long inicioCursor = despuesDe == null ? Long.MIN_VALUE : microsegundos(despuesDe.fechaInicio());
+        long idCursor = despuesDe == null ? Long.MIN_VALUE : despuesDe.id();
+
+        // Con cantidad se guardan solo los menores: el mayor queda arriba para descartarlo
+        PriorityQueue<long[]> seleccion = new PriorityQueue<>(POR_INICIO_E_ID.reversed());
+        lock.readLock().lock();
+        try {
+            LongIterator ids = candidatos.getLongIterator();
+            while (ids.hasNext()) {
+                long id = ids.next();
+                Long inicio = inicios.get(id);
+                if (inicio == null || inicio < inicioCursor || (inicio == inicioCursor && id <= idCursor)) {
+                    continue;
+                }
+                seleccion.add(new long[]{inicio, id});
+                if (cantidad != null && seleccion.size() > cantidad) {
+                    seleccion.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<long[]> pares = new ArrayList<>(seleccion);
+        pares.sort(POR_INICIO_E_ID);
+        return pares.stream().map(par -> par[1]).toList();
+    }
+
+    private void indexarSinBloqueo(IntervaloEvento intervalo) {
+        retirarSinBloqueo(intervalo.eventoId());
+        long inicio = microsegundos(intervalo.fechaInicio());
+        long fin = intervalo.fechaFin() == null
+                ? inicio + duracionSinFecha
+                : Math.max(inicio, microsegundos(intervalo.fechaFin()));
+        arbol.insertar(intervalo.eventoId(), inicio, fin);
+        inicios.put(intervalo.eventoId(), inicio);
+    }
+
+    private void retirarSinBloqueo(Long eventoId) {
+        Long inicio = inicios.remove(eventoId);
+        if (inicio != null) {
+            arbol.eliminar(eventoId, inicio);
+        }
+    }
+
+    private static long microsegundos(LocalDateTime fecha) {
+        return fecha.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + fecha.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,49 @@
+package com.syntaxerror.quehayut.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.syntaxerror.quehayut.dto.PaginaEventos;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+
+// La caché de eventos se acota por cantidad de eventos guardados y no por cantidad de entradas:
+// 'todos' y los filtros sin paginar guardan la tabla completa, una página solo unos pocos.
+// Reemplaza a spring.cache.caffeine.spec, que no permite definir el peso de cada entrada.
+@Component
+public class PesoCacheEventos implements CacheManagerCustomizer<CaffeineCacheManager> {
+
+    private final long maximoEventos;
+    private final Duration expiracion;
+
+    public PesoCacheEventos(
+            @Value("${quehayut.cache.eventos.max-eventos:100000}") long maximoEventos,
+            @Value("${quehayut.cache.eventos.expiracion:PT60S}") Duration expiracion
+    ) {
+        this.maximoEventos = maximoEventos;
+        this.expiracion = expiracion;
+    }
+
+    @Override
+    public void customize(CaffeineCacheManager cacheManager) {
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(maximoEventos)
+                .weigher((Object llave, Object valor) -> peso(valor))
+                .expireAfterWrite(expiracion)
+                .recordStats());
+    }
+
+    // Eventos (o filas proyectadas) que contiene la entrada; al menos 1 para las listas vacías
+    static int peso(Object valor) {
+        if (valor instanceof Collection<?> lista) {
+            return Math.max(1, lista.size());
+        }
+        if (valor instanceof PaginaEventos<?> pagina) {
+            return Math.max(1, pagina.eventos().size());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,161 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.RecordatorioProgramable;
+import com.syntaxerror.quehayut.events.EventosModificados;
+import com.syntaxerror.quehayut.events.RecordatoriosModificados;
+import com.syntaxerror.quehayut.repositories.RecordatorioRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+// Mantiene en una rueda de temporización los recordatorios que deben dispararse dentro
+// del horizonte configurado, en lugar de consultar la tabla cada pocos segundos.
+// Se carga al arrancar y se actualiza con cada alta, cambio o cancelación.
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "quehayut.recordatorios.habilitado", havingValue = "true", matchIfMissing = true)
+public class ProgramadorRecordatorios {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgramadorRecordatorios.class);
+
+    private final RecordatorioRepository recordatorioRepository;
+    private final DespachadorRecordatorios despachador;
+
+    private final Duration anticipacion;
+    private final Duration horizonte;
+    private final int maxIntentos;
+
+    private final RuedaTemporizacion rueda;
+    private final ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ProgramadorRecordatorios(
+            RecordatorioRepository recordatorioRepository,
+            DespachadorRecordatorios despachador,
+            @Value("${quehayut.recordatorios.anticipacion:PT1H}") Duration anticipacion,
+            @Value("${quehayut.recordatorios.horizonte:P2D}") Duration horizonte,
+            @Value("${quehayut.recordatorios.max-intentos:5}") int maxIntentos,
+            @Value("${quehayut.recordatorios.rueda.tick:PT0.1S}") Duration tick,
+            @Value("${quehayut.recordatorios.rueda.cubetas:512}") int cubetas
+    ) {
+        this.recordatorioRepository = recordatorioRepository;
+        this.despachador = despachador;
+        this.anticipacion = anticipacion;
+        this.horizonte = horizonte;
+        this.maxIntentos = maxIntentos;
+        this.rueda = new RuedaTemporizacion("rueda-recordatorios", tick, cubetas, this::alVencer);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargar() {
+        long inicio = System.currentTimeMillis();
+        cargarHorizonte();
+        rueda.iniciar();
+        logger.info("Rueda de recordatorios cargada: {} programados en {} ms",
+                rueda.tamano(), System.currentTimeMillis() - inicio);
+    }
+
+    // Incorpora los recordatorios que van entrando en el horizonte; programar es idempotente
+    @Scheduled(initialDelayString = "${quehayut.recordatorios.recarga-ms:3600000}",
+            fixedDelayString = "${quehayut.recordatorios.recarga-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void recargar() {
+        cargarHorizonte();
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void recordatoriosModificados(RecordatoriosModificados cambios) {
+        Set<Long> eliminados = new HashSet<>(cambios.ids());
+        for (List<Long> bloque : cambios.bloques()) {
+            for (RecordatorioProgramable recordatorio : recordatorioRepository.findProgramables(bloque)) {
+                programar(recordatorio);
+                eliminados.remove(recordatorio.recordatorioId());
+            }
+        }
+        eliminados.forEach(rueda::cancelar);
+    }
+
+    // Si cambia la fecha de un evento hay que mover sus recordatorios
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void eventosModificados(EventosModificados cambios) {
+        for (List<Long> bloque : cambios.bloques()) {
+            recordatorioRepository.findProgramablesPorEventos(bloque).forEach(this::programar);
+        }
+    }
+
+    private void cargarHorizonte() {
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime limiteEvento = ahora.plus(horizonte).plus(anticipacion);
+        try (Stream<RecordatorioProgramable> recordatorios =
+                     recordatorioRepository.streamProgramables(ahora, limiteEvento, maxIntentos)) {
+            recordatorios.forEach(this::programar);
+        }
+    }
+
+    private void programar(RecordatorioProgramable recordatorio) {
+        LocalDateTime momento = momentoDeDisparo(recordatorio);
+        if (momento == null || momento.isAfter(LocalDateTime.now().plus(horizonte))) {
+            rueda.cancelar(recordatorio.recordatorioId());
+            return;
+        }
+        long momentoMs = momento.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        rueda.programar(recordatorio.recordatorioId(), momentoMs);
+    }
+
+    // null si el recordatorio ya no debe dispararse. Un PENDIENTE atrasado se dispara de
+    // inmediato mientras su evento no haya empezado; después se descarta, en lugar de
+    // sumarse a una ráfaga de recordatorios viejos al arrancar o al recargar.
+    private LocalDateTime momentoDeDisparo(RecordatorioProgramable recordatorio) {
+        return switch (recordatorio.estado()) {
+            case PENDIENTE -> recordatorio.fechaInicioEvento().isAfter(LocalDateTime.now())
+                    ? recordatorio.fechaInicioEvento().minus(anticipacion)
+                    : null;
+            case FALLIDO -> {
+                int intentos = recordatorio.intentos();
+                if (intentos >= maxIntentos) {
+                    yield null;
+                }
+                yield recordatorio.proximoIntento() == null ? LocalDateTime.now() : recordatorio.proximoIntento();
+            }
+            case ENVIADO, CANCELADO -> null;
+        };
+    }
+
+    // Se llama desde el hilo de la rueda: el despacho se hace en otro hilo para no atrasar los ticks
+    private void alVencer(List<Long> ids) {
+        ejecutor.submit(() -> {
+            try {
+                despachador.despachar(ids);
+            } catch (RuntimeException e) {
+                logger.error("Error al despachar {} recordatorios", ids.size(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void detener() {
+        rueda.detener();
+        ejecutor.shutdown();
+    }
+}
@@ -0,0 +1,250 @@
+package com.syntaxerror.quehayut.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syntaxerror.quehayut.events.EventosModificados;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Cuerpo de GET /api/eventos (listado completo) ya serializado y comprimido en cada
+// codificación, para responder copiando bytes sin pasar por Jackson ni por gzip.
+// Se reconstruye en segundo plano cuando cambian eventos, a lo sumo una vez cada
+// quehayut.respuestas.precalculadas.intervalo-minimo; mientras tanto se sigue
+// sirviendo la versión anterior. Brotli no tiene codificador en el JDK, así que se
+// ofrecen identity, gzip y deflate.
+@Component
+public class RespuestaListadoEventos {
+
+    private static final Logger logger = LoggerFactory.getLogger(RespuestaListadoEventos.class);
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+    public static final String IDENTITY = "identity";
+
+    public record Variantes(byte[] json, byte[] gzip, byte[] deflate, String version) {
+
+        public byte[] cuerpo(String codificacion) {
+            return switch (codificacion) {
+                case GZIP -> gzip;
+                case DEFLATE -> deflate;
+                default -> json;
+            };
+        }
+
+        // ETag fuerte: cada codificación es una representación distinta
+        public String etag(String codificacion) {
+            return "\"" + version + (IDENTITY.equals(codificacion) ? "" : "-" + codificacion) + "\"";
+        }
+    }
+
+    private final EventoRepository eventoRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitada;
+    private final long intervaloMinimo;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Variantes actual;
+    // Varios cambios seguidos se agrupan en una sola reconstrucción
+    private final AtomicBoolean pendiente = new AtomicBoolean();
+    // System.nanoTime() al terminar la última reconstrucción
+    private volatile long ultimaReconstruccion;
+    private final ScheduledExecutorService ejecutor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "respuesta-listado-eventos");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    public RespuestaListadoEventos(
+            EventoRepository eventoRepository,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            @Value("${quehayut.respuestas.precalculadas:true}") boolean habilitada,
+            @Value("${quehayut.respuestas.precalculadas.intervalo-minimo:PT10S}") Duration intervaloMinimo
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.habilitada = habilitada;
+        this.intervaloMinimo = intervaloMinimo.toNanos();
+        this.ultimaReconstruccion = System.nanoTime() - this.intervaloMinimo;
+    }
+
+    public Optional<Variantes> actual() {
+        return Optional.ofNullable(actual);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        programarReconstruccion();
+    }
+
+    // Se publica después del commit, así que la reconstrucción ve los cambios
+    @EventListener
+    public void eventosModificados(EventosModificados cambios) {
+        programarReconstruccion();
+    }
+
+    // Para datos que cambiaron sin publicar EventosModificados (por ejemplo, insertados por JDBC):
+    // reconstruye ya, detrás de la que esté en curso, y espera a que termine
+    public void reconstruirYEsperar() throws InterruptedException, ExecutionException {
+        if (habilitada) {
+            ejecutor.submit(this::reconstruirSinFallar).get();
+        }
+    }
+
+    // Cada reconstrucción serializa y comprime la tabla entera, así que una ráfaga de cambios
+    // (el ciclo de vida publica cada minuto) espera al intervalo mínimo desde la anterior
+    private void programarReconstruccion() {
+        if (habilitada && pendiente.compareAndSet(false, true)) {
+            long espera = Math.max(0, ultimaReconstruccion + intervaloMinimo - System.nanoTime());
+            ejecutor.schedule(() -> {
+                pendiente.set(false);
+                reconstruirSinFallar();
+            }, espera, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void reconstruirSinFallar() {
+        try {
+            reconstruir();
+        } catch (RuntimeException e) {
+            // Sin variantes nuevas el controlador vuelve a serializar en cada petición
+            actual = null;
+            logger.error("No se pudo precalcular el listado de eventos", e);
+        } finally {
+            ultimaReconstruccion = System.nanoTime();
+        }
+    }
+
+    private void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        byte[] json = transactionTemplate.execute(estado -> serializar());
+        Variantes variantes = new Variantes(json, comprimirGzip(json), comprimirDeflate(json), version(json));
+        actual = variantes;
+        logger.info("Listado de eventos precalculado: {} bytes, {} gzip, {} deflate en {} ms",
+                json.length, variantes.gzip().length, variantes.deflate().length, System.currentTimeMillis() - inicio);
+    }
+
+    // Mismo ObjectMapper que usa Spring MVC, así el cuerpo es idéntico al serializado por petición
+    private byte[] serializar() {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(salida);
+             Stream<Evento> eventos = eventoRepository.streamTodos()) {
+            json.writeStartArray();
+            for (Evento evento : (Iterable<Evento>) eventos::iterator) {
+                objectMapper.writeValue(json, evento);
+                entityManager.detach(evento);
+            }
+            json.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+
+    private static byte[] comprimirGzip(byte[] datos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(datos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+
+    // "deflate" en HTTP es el formato zlib (RFC 1950), que es lo que escribe DeflaterOutputStream
+    private static byte[] comprimirDeflate(byte[] datos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(salida, deflater)) {
+            deflate.write(datos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return salida.toByteArray();
+    }
+
+    private static String version(byte[] datos) {
+        try {
+            byte[] resumen = MessageDigest.getInstance("SHA-256").digest(datos);
+            return HexFormat.of().formatHex(resumen, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Elige la codificación con mayor q entre gzip y deflate según Accept-Encoding; identity si ninguna aplica
+    public static String codificacionPreferida(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+        Map<String, Double> calidades = new HashMap<>();
+        for (String parte : acceptEncoding.split(",")) {
+            String[] elementos = parte.trim().split(";");
+            double q = 1.0;
+            for (int i = 1; i < elementos.length; i++) {
+                String parametro = elementos[i].trim();
+                if (parametro.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(parametro.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            calidades.put(elementos[0].trim().toLowerCase(Locale.ROOT), q);
+        }
+        double comodin = calidades.getOrDefault("*", 0.0);
+        double gzip = calidades.getOrDefault(GZIP, calidades.getOrDefault("x-gzip", comodin));
+        double deflate = calidades.getOrDefault(DEFLATE, comodin);
+        if (gzip > 0 && gzip >= deflate) {
+            return GZIP;
+        }
+        return deflate > 0 ? DEFLATE : IDENTITY;
+    }
+
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+}
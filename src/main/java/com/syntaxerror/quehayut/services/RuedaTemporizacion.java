@@ -0,0 +1,136 @@
+package com.syntaxerror.quehayut.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Rueda de temporización con hash (hashed timing wheel): cada cubeta agrupa las entradas
+// que vencen en un mismo tick módulo el tamaño de la rueda, y las que están a más de una
+// vuelta llevan un contador de rondas. Programar y cancelar son O(1); un hilo propio
+// avanza un tick a la vez y entrega las claves vencidas en bloque.
+final class RuedaTemporizacion {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuedaTemporizacion.class);
+
+    private static final class Entrada {
+        final long clave;
+        final int cubeta;
+        long rondas;
+
+        Entrada(long clave, int cubeta, long rondas) {
+            this.clave = clave;
+            this.cubeta = cubeta;
+            this.rondas = rondas;
+        }
+    }
+
+    private final long duracionTickMs;
+    private final int mascara;
+    private final List<Set<Entrada>> cubetas;
+    private final Map<Long, Entrada> entradas = new HashMap<>();
+    private final Consumer<List<Long>> alVencer;
+    private final long inicioMs;
+    private final Thread hilo;
+
+    private long tickActual;
+    private volatile boolean activa = true;
+
+    // tamano debe ser potencia de dos
+    RuedaTemporizacion(String nombre, Duration duracionTick, int tamano, Consumer<List<Long>> alVencer) {
+        if (Integer.bitCount(tamano) != 1) {
+            throw new IllegalArgumentException("El tamaño de la rueda debe ser potencia de dos: " + tamano);
+        }
+        this.duracionTickMs = duracionTick.toMillis();
+        this.mascara = tamano - 1;
+        this.cubetas = new ArrayList<>(tamano);
+        for (int i = 0; i < tamano; i++) {
+            cubetas.add(new HashSet<>());
+        }
+        this.alVencer = alVencer;
+        this.inicioMs = System.currentTimeMillis();
+        this.hilo = Thread.ofPlatform().name(nombre).daemon().unstarted(this::ejecutar);
+    }
+
+    void iniciar() {
+        hilo.start();
+    }
+
+    void detener() {
+        activa = false;
+        hilo.interrupt();
+    }
+
+    // Reemplaza la programación previa de la clave si existía. Un momento ya pasado
+    // vence en el siguiente tick.
+    synchronized void programar(long clave, long momentoMs) {
+        cancelar(clave);
+        long tickLimite = Math.max((momentoMs - inicioMs) / duracionTickMs, tickActual);
+        int cubeta = (int) (tickLimite & mascara);
+        Entrada entrada = new Entrada(clave, cubeta, (tickLimite - tickActual) / cubetas.size());
+        cubetas.get(cubeta).add(entrada);
+        entradas.put(clave, entrada);
+    }
+
+    synchronized boolean cancelar(long clave) {
+        Entrada entrada = entradas.remove(clave);
+        if (entrada == null) {
+            return false;
+        }
+        cubetas.get(entrada.cubeta).remove(entrada);
+        return true;
+    }
+
+    synchronized int tamano() {
+        return entradas.size();
+    }
+
+    private void ejecutar() {
+        while (activa) {
+            // Solo este hilo modifica tickActual
+            long espera = inicioMs + (tickActual + 1) * duracionTickMs - System.currentTimeMillis();
+            if (espera > 0) {
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException e) {
+                    continue;
+                }
+            }
+            List<Long> vencidas = avanzar();
+            if (!vencidas.isEmpty()) {
+                try {
+                    alVencer.accept(vencidas);
+                } catch (RuntimeException e) {
+                    logger.error("Error al procesar {} entradas vencidas", vencidas.size(), e);
+                }
+            }
+        }
+    }
+
+    // Procesa la cubeta del tick actual y pasa al siguiente. Solo la llama el hilo de la
+    // rueda (o una prueba con la rueda sin iniciar)
+    synchronized List<Long> avanzar() {
+        List<Long> vencidas = new ArrayList<>();
+        Iterator<Entrada> iterador = cubetas.get((int) (tickActual & mascara)).iterator();
+        while (iterador.hasNext()) {
+            Entrada entrada = iterador.next();
+            if (entrada.rondas <= 0) {
+                iterador.remove();
+                entradas.remove(entrada.clave);
+                vencidas.add(entrada.clave);
+            } else {
+                entrada.rondas--;
+            }
+        }
+        tickActual++;
+        return vencidas;
+    }
+}
@@ -0,0 +1,305 @@
+package com.syntaxerror.quehayut.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syntaxerror.quehayut.dto.CambioEvento;
+import com.syntaxerror.quehayut.events.EventosModificados;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Cambios de eventos por Server-Sent Events (/api/eventos/stream). Cada cambio se serializa una vez
+// en un AnilloCambios compartido; un suscriptor solo guarda su posición en el anillo, y sus envíos
+// corren en un hilo virtual que existe mientras tiene cambios pendientes.
+// Un suscriptor que se atrasa más que el anillo recibe "resync" (volver a pedir /api/eventos);
+// si vuelve a atrasarse sin haber recibido nada en medio se desconecta.
+@Component
+public class StreamCambiosEventos {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamCambiosEventos.class);
+
+    public static final String CREADO = "creado";
+    public static final String ACTUALIZADO = "actualizado";
+    public static final String ESTADO = "estado";
+    public static final String CANCELADO = "cancelado";
+    public static final String ELIMINADO = "eliminado";
+    public static final String RESYNC = "resync";
+
+    private final EventoRepository eventoRepository;
+    private final ObjectMapper objectMapper;
+    private final AnilloCambios anillo;
+    private final int maxSuscriptores;
+
+    // Estado conocido de cada evento, para distinguir creación, cambio de estado y actualización.
+    // El lock también ordena las publicaciones en el anillo.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<EstadoEvento, Roaring64Bitmap> eventosPorEstado = new EnumMap<>(EstadoEvento.class);
+
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+    // Lugares ocupados, reservados antes de crear el suscriptor para no pasarse del máximo
+    private final AtomicInteger conectados = new AtomicInteger();
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService latidos = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "stream-eventos-latidos");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private static final class Suscriptor {
+        final SseEmitter emitter;
+        final AtomicBoolean enviando = new AtomicBoolean();
+        volatile long siguiente;
+        volatile boolean latidoPendiente;
+        // Solo lo toca el envío en curso
+        boolean resincronizado;
+
+        Suscriptor(SseEmitter emitter, long siguiente) {
+            this.emitter = emitter;
+            this.siguiente = siguiente;
+        }
+    }
+
+    public StreamCambiosEventos(
+            EventoRepository eventoRepository,
+            ObjectMapper objectMapper,
+            @Value("${quehayut.eventos.stream.capacidad:4096}") int capacidad,
+            @Value("${quehayut.eventos.stream.max-suscriptores:50000}") int maxSuscriptores,
+            @Value("${quehayut.eventos.stream.latido:PT30S}") Duration latido
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.objectMapper = objectMapper;
+        this.anillo = new AnilloCambios(capacidad);
+        this.maxSuscriptores = maxSuscriptores;
+        for (EstadoEvento estado : EstadoEvento.values()) {
+            eventosPorEstado.put(estado, new Roaring64Bitmap());
+        }
+        // Mantiene abiertas las conexiones detrás de proxies y detecta clientes que ya no están
+        latidos.scheduleWithFixedDelay(this::latir, latido.toMillis(), latido.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construir() {
+        long inicio = System.currentTimeMillis();
+        lock.lock();
+        try (Stream<Object[]> estados = eventoRepository.streamEstados()) {
+            eventosPorEstado.values().forEach(Roaring64Bitmap::clear);
+            estados.forEach(fila -> eventosPorEstado.get((EstadoEvento) fila[1]).addLong((Long) fila[0]));
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Stream de eventos listo: {} eventos conocidos, anillo de {} cambios en {} ms",
+                eventosPorEstado.values().stream().mapToLong(Roaring64Bitmap::getLongCardinality).sum(),
+                anillo.capacidad(), System.currentTimeMillis() - inicio);
+    }
+
+    // Vacío si ya se alcanzó quehayut.eventos.stream.max-suscriptores.
+    // ultimoRecibido (Last-Event-ID) retoma desde ahí si el anillo todavía lo tiene
+    public Optional<SseEmitter> suscribir(Long ultimoRecibido) {
+        if (conectados.incrementAndGet() > maxSuscriptores) {
+            conectados.decrementAndGet();
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(0L);
+        long siguiente = ultimoRecibido == null ? anillo.ultima() + 1 : ultimoRecibido + 1;
+        Suscriptor suscriptor = new Suscriptor(emitter, siguiente);
+        emitter.onCompletion(() -> retirar(suscriptor));
+        emitter.onTimeout(() -> retirar(suscriptor));
+        emitter.onError(error -> retirar(suscriptor));
+        suscriptores.add(suscriptor);
+        // El primer envío (un comentario) manda las cabeceras sin esperar al primer cambio
+        suscriptor.latidoPendiente = true;
+        despachar(suscriptor);
+        return Optional.of(emitter);
+    }
+
+    // Se publica después del commit (en la primaria), así que se leen los datos confirmados
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void eventosModificados(EventosModificados cambios) {
+        Map<Long, Evento> actuales = new HashMap<>();
+        for (List<Long> bloque : cambios.bloques()) {
+            eventoRepository.findAllById(bloque).forEach(evento -> actuales.put(evento.getId(), evento));
+        }
+
+        lock.lock();
+        try {
+            // Un lote que llenaría la mitad del anillo se avisa como un único resync
+            boolean lote = cambios.ids().size() > anillo.capacidad() / 2;
+            for (Long id : new TreeSet<>(cambios.ids())) {
+                Evento evento = actuales.get(id);
+                EstadoEvento anterior = actualizarEstadoSinBloqueo(id, evento);
+                if (!lote) {
+                    String tipo = tipo(anterior, evento);
+                    anillo.publicar(tipo, json(new CambioEvento(tipo, id,
+                            evento == null ? null : evento.getEstado(), anterior, evento)));
+                }
+            }
+            if (lote) {
+                anillo.publicar(RESYNC, json(Map.of("eventos", cambios.ids().size())));
+            }
+        } finally {
+            lock.unlock();
+        }
+        suscriptores.forEach(this::despachar);
+    }
+
+    @PreDestroy
+    public void detener() {
+        latidos.shutdownNow();
+        suscriptores.forEach(suscriptor -> suscriptor.emitter.complete());
+        envios.shutdown();
+    }
+
+    private static String tipo(EstadoEvento anterior, Evento evento) {
+        if (evento == null) {
+            return ELIMINADO;
+        }
+        if (anterior == null) {
+            return CREADO;
+        }
+        if (evento.getEstado() != anterior) {
+            return evento.getEstado() == EstadoEvento.CANCELADO ? CANCELADO : ESTADO;
+        }
+        return ACTUALIZADO;
+    }
+
+    // Devuelve el estado anterior (null si el evento no se conocía) y registra el actual
+    private EstadoEvento actualizarEstadoSinBloqueo(Long id, Evento evento) {
+        EstadoEvento anterior = null;
+        for (Map.Entry<EstadoEvento, Roaring64Bitmap> entrada : eventosPorEstado.entrySet()) {
+            if (entrada.getValue().contains(id)) {
+                entrada.getValue().removeLong(id);
+                anterior = entrada.getKey();
+            }
+        }
+        if (evento != null) {
+            eventosPorEstado.get(evento.getEstado()).addLong(id);
+        }
+        return anterior;
+    }
+
+    private byte[] json(Object datos) {
+        try {
+            return objectMapper.writeValueAsBytes(datos);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void latir() {
+        for (Suscriptor suscriptor : suscriptores) {
+            suscriptor.latidoPendiente = true;
+            despachar(suscriptor);
+        }
+    }
+
+    // Libera el lugar una sola vez aunque se llame desde varios callbacks del emitter
+    private void retirar(Suscriptor suscriptor) {
+        if (suscriptores.remove(suscriptor)) {
+            conectados.decrementAndGet();
+        }
+    }
+
+    // A lo sumo un envío en curso por suscriptor; los cambios que llegan mientras tanto los recoge ese mismo envío
+    private void despachar(Suscriptor suscriptor) {
+        if (suscriptor.enviando.compareAndSet(false, true)) {
+            envios.execute(() -> enviar(suscriptor));
+        }
+    }
+
+    // Un suscriptor desconectado se queda con la marca de envío puesta y no se vuelve a despachar
+    private void enviar(Suscriptor suscriptor) {
+        try {
+            do {
+                if (!enviarPendientes(suscriptor)) {
+                    return;
+                }
+                suscriptor.enviando.set(false);
+                // Un cambio o latido que llegó justo antes de soltar la marca no queda sin enviar
+            } while ((suscriptor.siguiente <= anillo.ultima() || suscriptor.latidoPendiente)
+                    && suscriptor.enviando.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado o emitter ya cerrado
+            retirar(suscriptor);
+        }
+    }
+
+    // false si el suscriptor quedó desconectado
+    private boolean enviarPendientes(Suscriptor suscriptor) throws IOException {
+        long ultima = anillo.ultima();
+        // Last-Event-ID de una ejecución anterior del servidor (las secuencias empiezan de nuevo)
+        if (suscriptor.siguiente > ultima + 1) {
+            suscriptor.siguiente = ultima + 1;
+            enviarResync(suscriptor, ultima);
+        }
+        while (suscriptor.siguiente <= ultima) {
+            AnilloCambios.Cambio cambio = anillo.leer(suscriptor.siguiente);
+            if (cambio == null) {
+                // Se sobrescribió lo que le faltaba: va más atrasado de lo que el anillo guarda
+                if (suscriptor.resincronizado) {
+                    logger.debug("Suscriptor del stream desconectado por lento");
+                    retirar(suscriptor);
+                    suscriptor.emitter.complete();
+                    return false;
+                }
+                suscriptor.resincronizado = true;
+                suscriptor.siguiente = ultima + 1;
+                enviarResync(suscriptor, ultima);
+                break;
+            }
+            suscriptor.emitter.send(SseEmitter.event()
+                    .id(Long.toString(cambio.secuencia()))
+                    .name(cambio.tipo())
+                    .data(cambio.json(), MediaType.APPLICATION_JSON));
+            suscriptor.siguiente = cambio.secuencia() + 1;
+            suscriptor.resincronizado = false;
+            ultima = anillo.ultima();
+        }
+        if (suscriptor.latidoPendiente) {
+            suscriptor.latidoPendiente = false;
+            suscriptor.emitter.send(SseEmitter.event().comment(""));
+        }
+        return true;
+    }
+
+    // El id es la última secuencia: al reconectar con ese Last-Event-ID se sigue desde ahí
+    private void enviarResync(Suscriptor suscriptor, long ultima) throws IOException {
+        suscriptor.emitter.send(SseEmitter.event()
+                .id(Long.toString(ultima))
+                .name(RESYNC)
+                .data(json(Map.of("secuencia", ultima)), MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,89 @@
+-- Esquema equivalente al que generaba spring.jpa.hibernate.ddl-auto=update.
+-- Las bases creadas así se marcan como V0 (spring.flyway.baseline-on-migrate) y también ejecutan
+-- este script: por eso todo es IF NOT EXISTS y completa lo que les falte (secuencias, columnas nuevas).
+
+CREATE SEQUENCE IF NOT EXISTS usuarios_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS categorias_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS eventos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS eventos_categorias_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS recordatorios_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS usuarios (
+    id                  BIGINT       NOT NULL,
+    creado_en           TIMESTAMP(6),
+    actualizado_en      TIMESTAMP(6),
+    primer_nombre       VARCHAR(255) NOT NULL,
+    segundo_nombre      VARCHAR(255),
+    primer_apellido     VARCHAR(255) NOT NULL,
+    segundo_apellido    VARCHAR(255),
+    fecha_de_nacimiento DATE,
+    telefono            VARCHAR(255),
+    CONSTRAINT usuarios_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS categorias (
+    id             BIGINT       NOT NULL,
+    creado_en      TIMESTAMP(6),
+    actualizado_en TIMESTAMP(6),
+    nombre         VARCHAR(255) NOT NULL,
+    descripcion    VARCHAR(255),
+    estado         VARCHAR(255) NOT NULL CHECK (estado IN ('ACTIVO', 'INACTIVO')),
+    CONSTRAINT categorias_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS eventos (
+    id             BIGINT       NOT NULL,
+    creado_en      TIMESTAMP(6),
+    actualizado_en TIMESTAMP(6),
+    nombre         VARCHAR(255) NOT NULL,
+    descripcion    TEXT,
+    ubicacion      VARCHAR(255),
+    cover          VARCHAR(255),
+    fecha_inicio   TIMESTAMP(6) NOT NULL,
+    fecha_fin      TIMESTAMP(6),
+    estado         VARCHAR(255) NOT NULL CHECK (estado IN ('PROGRAMADO', 'EN_CURSO', 'FINALIZADO', 'CANCELADO')),
+    organizador    VARCHAR(255),
+    CONSTRAINT eventos_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS eventos_categorias (
+    id             BIGINT NOT NULL,
+    creado_en      TIMESTAMP(6),
+    actualizado_en TIMESTAMP(6),
+    evento_id      BIGINT NOT NULL,
+    categoria_id   BIGINT NOT NULL,
+    CONSTRAINT eventos_categorias_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_eventos_categorias_evento FOREIGN KEY (evento_id) REFERENCES eventos (id),
+    CONSTRAINT fk_eventos_categorias_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id)
+);
+
+CREATE TABLE IF NOT EXISTS recordatorios (
+    id              BIGINT       NOT NULL,
+    creado_en       TIMESTAMP(6),
+    actualizado_en  TIMESTAMP(6),
+    estado          VARCHAR(255) NOT NULL CHECK (estado IN ('PENDIENTE', 'ENVIADO', 'FALLIDO', 'CANCELADO')),
+    intentos        INTEGER,
+    proximo_intento TIMESTAMP(6),
+    usuario_id      BIGINT       NOT NULL,
+    evento_id       BIGINT       NOT NULL,
+    CONSTRAINT recordatorios_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_recordatorios_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id),
+    CONSTRAINT fk_recordatorios_evento FOREIGN KEY (evento_id) REFERENCES eventos (id)
+);
+
+-- Columnas que no existían en las bases creadas con ddl-auto=update antes de los reintentos
+ALTER TABLE recordatorios ADD COLUMN IF NOT EXISTS intentos INTEGER;
+ALTER TABLE recordatorios ADD COLUMN IF NOT EXISTS proximo_intento TIMESTAMP(6);
+
+-- Las bases que usaban IDENTITY ya tienen filas: cada secuencia arranca después del mayor id.
+-- Con el optimizador pooled el siguiente nextval reserva (valor - 49, valor], así que se deja un bloque de margen.
+SELECT setval('usuarios_seq', GREATEST((SELECT MAX(id) FROM usuarios) + 50, (SELECT last_value FROM usuarios_seq)))
+WHERE EXISTS (SELECT 1 FROM usuarios);
+SELECT setval('categorias_seq', GREATEST((SELECT MAX(id) FROM categorias) + 50, (SELECT last_value FROM categorias_seq)))
+WHERE EXISTS (SELECT 1 FROM categorias);
+SELECT setval('eventos_seq', GREATEST((SELECT MAX(id) FROM eventos) + 50, (SELECT last_value FROM eventos_seq)))
+WHERE EXISTS (SELECT 1 FROM eventos);
+SELECT setval('eventos_categorias_seq', GREATEST((SELECT MAX(id) FROM eventos_categorias) + 50, (SELECT last_value FROM eventos_categorias_seq)))
+WHERE EXISTS (SELECT 1 FROM eventos_categorias);
+SELECT setval('recordatorios_seq', GREATEST((SELECT MAX(id) FROM recordatorios) + 50, (SELECT last_value FROM recordatorios_seq)))
+WHERE EXISTS (SELECT 1 FROM recordatorios);
@@ -0,0 +1,13 @@
+-- Índices para las consultas frecuentes
+
+-- Listado y ventanas por fecha, transiciones de estado de CicloVidaEventos
+CREATE INDEX IF NOT EXISTS idx_eventos_fecha_inicio_estado ON eventos (fecha_inicio, estado);
+
+-- Un evento no puede tener dos veces la misma categoría; también sirve para buscar por evento
+CREATE UNIQUE INDEX IF NOT EXISTS ux_eventos_categorias_evento_categoria ON eventos_categorias (evento_id, categoria_id);
+
+-- Agenda de un usuario
+CREATE INDEX IF NOT EXISTS idx_recordatorios_usuario_estado ON recordatorios (usuario_id, estado);
+
+-- Recordatorios de un evento (reprogramación al cambiar la fecha, despacho)
+CREATE INDEX IF NOT EXISTS idx_recordatorios_evento ON recordatorios (evento_id);
@@ -0,0 +1,4 @@
+-- V1 agregó intentos sin valor por defecto: las filas previas a los reintentos quedaron en NULL
+UPDATE recordatorios SET intentos = 0 WHERE intentos IS NULL;
+ALTER TABLE recordatorios ALTER COLUMN intentos SET DEFAULT 0;
+ALTER TABLE recordatorios ALTER COLUMN intentos SET NOT NULL;
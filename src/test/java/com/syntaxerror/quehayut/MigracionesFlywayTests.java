@@ -0,0 +1,59 @@
+package com.syntaxerror.quehayut;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Aplica las migraciones sobre PostgreSQL y arranca con ddl-auto=validate, como en producción:
+// si una entidad no coincide con el esquema de V1..Vn el contexto no llega a crearse.
+// Sin Docker la prueba se omite.
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+		"spring.flyway.enabled=true",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"spring.datasource.driver-class-name=org.postgresql.Driver",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+class MigracionesFlywayTests {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private Flyway flyway;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void aplicaTodasLasMigraciones() {
+		assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getVersion).map(Object::toString))
+				.containsExactly("1", "2", "3");
+		assertThat(flyway.info().pending()).isEmpty();
+	}
+
+	@Test
+	void intentosNoAceptaNulosYArrancaEnCero() {
+		Map<String, Object> columna = jdbcTemplate.queryForMap("""
+				SELECT is_nullable, column_default
+				FROM information_schema.columns
+				WHERE table_name = 'recordatorios' AND column_name = 'intentos'
+				""");
+
+		assertThat(columna.get("is_nullable")).isEqualTo("NO");
+		assertThat(columna.get("column_default")).isEqualTo("0");
+	}
+}
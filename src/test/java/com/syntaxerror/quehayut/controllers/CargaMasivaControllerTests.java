@@ -0,0 +1,155 @@
+package com.syntaxerror.quehayut.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syntaxerror.quehayut.dto.EventoNuevo;
+import com.syntaxerror.quehayut.dto.ResultadoCargaMasiva;
+import com.syntaxerror.quehayut.models.Categoria;
+import com.syntaxerror.quehayut.models.enums.EstadoCategoria;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import com.syntaxerror.quehayut.repositories.CategoriaRepository;
+import com.syntaxerror.quehayut.repositories.EventoCategoriaRepository;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import com.syntaxerror.quehayut.services.CargaMasivaEventos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CargaMasivaControllerTests {
+
+	private static final LocalDateTime INICIO = LocalDateTime.of(2092, 5, 1, 18, 0);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private CargaMasivaEventos cargaMasivaEventos;
+
+	@Autowired
+	private EventoRepository eventoRepository;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private EventoCategoriaRepository eventoCategoriaRepository;
+
+	private final List<Long> creados = new ArrayList<>();
+	// Prefijo de los nombres de esta prueba, para contar solo sus eventos
+	private String prefijo;
+	private Categoria musica;
+	private Categoria teatro;
+
+	@BeforeEach
+	void crearCategorias() {
+		prefijo = "Carga " + UUID.randomUUID() + " ";
+		musica = categoria("Música");
+		teatro = categoria("Teatro");
+	}
+
+	@AfterEach
+	void limpiar() {
+		eventoCategoriaRepository.deleteAll(eventoCategoriaRepository.findAll().stream()
+				.filter(asociacion -> creados.contains(asociacion.getEvento().getId()))
+				.toList());
+		eventoRepository.deleteAllById(creados);
+		categoriaRepository.deleteAll(List.of(musica, teatro));
+	}
+
+	@Test
+	void creaLosEventosConSusCategorias() throws Exception {
+		String cuerpo = cargar(List.of(
+				nuevo("Concierto", List.of(musica.getId(), teatro.getId())),
+				nuevo("Obra", List.of(teatro.getId())),
+				nuevo("Charla", null)))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+
+		ResultadoCargaMasiva resultado = objectMapper.readValue(cuerpo, ResultadoCargaMasiva.class);
+		creados.addAll(resultado.ids());
+		assertThat(resultado.eventos()).isEqualTo(3);
+		assertThat(resultado.asociaciones()).isEqualTo(3);
+		assertThat(eventosDeLaPrueba()).isEqualTo(3);
+		assertThat(eventoCategoriaRepository.findParesPorEventos(resultado.ids())).hasSize(3);
+	}
+
+	@Test
+	void cargaInvalidaEs400YNoCreaNada() throws Exception {
+		cargar(List.of()).andExpect(status().isBadRequest());
+		cargar(List.of(nuevo("Valido", null), nuevo(" ", null))).andExpect(status().isBadRequest());
+		cargar(List.of(nuevo("Sin categoría", List.of(-1L)))).andExpect(status().isBadRequest());
+		cargar(List.of(nuevo("Repetida", List.of(musica.getId(), musica.getId())))).andExpect(status().isBadRequest());
+
+		assertThat(eventosDeLaPrueba()).isZero();
+	}
+
+	@Test
+	void masDelMaximoEs400() throws Exception {
+		cargar(Collections.nCopies(CargaMasivaEventos.EVENTOS_MAXIMOS + 1, nuevo("Exceso", null)))
+				.andExpect(status().isBadRequest());
+
+		assertThat(eventosDeLaPrueba()).isZero();
+	}
+
+	@Test
+	void unErrorAlInsertarDeshaceTodaLaCarga() {
+		// Pasa la validación pero la columna ubicacion (VARCHAR 255) rechaza el último evento
+		List<EventoNuevo> nuevos = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			nuevos.add(nuevo("Lote " + i, List.of(musica.getId())));
+		}
+		nuevos.add(new EventoNuevo(prefijo + "Largo", null, "x".repeat(300), null,
+				INICIO, null, EstadoEvento.PROGRAMADO, null, null));
+
+		assertThatThrownBy(() -> cargaMasivaEventos.cargar(nuevos)).isInstanceOf(RuntimeException.class);
+
+		// Los lotes que ya se habían enviado con flush también se deshacen
+		assertThat(eventosDeLaPrueba()).isZero();
+	}
+
+	private ResultActions cargar(List<EventoNuevo> nuevos) throws Exception {
+		return mockMvc.perform(post("/api/eventos/bulk")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(nuevos)));
+	}
+
+	private long eventosDeLaPrueba() {
+		return eventoRepository.findAll().stream()
+				.filter(evento -> evento.getNombre().startsWith(prefijo))
+				.count();
+	}
+
+	private EventoNuevo nuevo(String nombre, List<Long> categorias) {
+		String completo = nombre.isBlank() ? nombre : prefijo + nombre;
+		return new EventoNuevo(completo, "Descripción", "Auditorio", null,
+				INICIO, INICIO.plusHours(2), null, "Bienestar", categorias);
+	}
+
+	private Categoria categoria(String nombre) {
+		Categoria categoria = new Categoria();
+		categoria.setNombre(nombre + " " + UUID.randomUUID());
+		categoria.setEstado(EstadoCategoria.ACTIVO);
+		return categoriaRepository.save(categoria);
+	}
+}
@@ -0,0 +1,110 @@
+package com.syntaxerror.quehayut.controllers;
+
+import com.syntaxerror.quehayut.dto.CursorEvento;
+import com.syntaxerror.quehayut.services.RespuestaListadoEventos;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventoControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private RespuestaListadoEventos respuestaListadoEventos;
+
+	@Test
+	void cursorMalformadoEs400() throws Exception {
+		mockMvc.perform(get("/api/eventos").param("cursor", "!!!").param("limit", "5"))
+				.andExpect(status().isBadRequest());
+
+		// Base64 válido pero sin el formato "fecha|id"
+		String sinFecha = Base64.getUrlEncoder().withoutPadding().encodeToString("ayer|42".getBytes(StandardCharsets.UTF_8));
+		mockMvc.perform(get("/api/eventos").param("cursor", sinFecha))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void cursorValidoDevuelveLaPagina() throws Exception {
+		String cursor = new CursorEvento(LocalDateTime.of(2000, 1, 1, 0, 0), 0L).codificar();
+
+		mockMvc.perform(get("/api/eventos").param("cursor", cursor).param("limit", "5"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.eventos").isArray());
+	}
+
+	@Test
+	void listadoPrecalculadoSegunAcceptEncoding() throws Exception {
+		esperarPrecalculado();
+
+		MvcResult plano = mockMvc.perform(get("/api/eventos"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andReturn();
+		MvcResult comprimido = mockMvc.perform(get("/api/eventos").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andReturn();
+
+		assertThat(vary(plano)).contains(HttpHeaders.ACCEPT_ENCODING);
+		assertThat(vary(comprimido)).contains(HttpHeaders.ACCEPT_ENCODING);
+		// Cada codificación tiene su propio ETag
+		assertThat(comprimido.getResponse().getHeader(HttpHeaders.ETAG))
+				.isNotEqualTo(plano.getResponse().getHeader(HttpHeaders.ETAG))
+				.endsWith("-gzip\"");
+	}
+
+	@Test
+	void ifNoneMatchConElMismoEtagEs304() throws Exception {
+		esperarPrecalculado();
+		String etag = mockMvc.perform(get("/api/eventos").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		MvcResult noModificado = mockMvc.perform(get("/api/eventos")
+						.header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andReturn();
+		assertThat(noModificado.getResponse().getContentAsByteArray()).isEmpty();
+		assertThat(vary(noModificado)).contains(HttpHeaders.ACCEPT_ENCODING);
+
+		// El ETag de gzip no sirve para la representación sin comprimir
+		mockMvc.perform(get("/api/eventos").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk());
+	}
+
+	// La primera versión se arma en segundo plano al iniciar la aplicación
+	private void esperarPrecalculado() throws InterruptedException {
+		long limite = System.currentTimeMillis() + 5000;
+		while (respuestaListadoEventos.actual().isEmpty()) {
+			if (System.currentTimeMillis() > limite) {
+				fail("El listado de eventos no se precalculó");
+			}
+			Thread.sleep(20);
+		}
+	}
+
+	// CORS también agrega valores a Vary, así que se revisan todos
+	private static String vary(MvcResult resultado) {
+		return String.join(",", resultado.getResponse().getHeaders(HttpHeaders.VARY));
+	}
+}
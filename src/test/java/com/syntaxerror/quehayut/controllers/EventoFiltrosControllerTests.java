@@ -0,0 +1,225 @@
+package com.syntaxerror.quehayut.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syntaxerror.quehayut.models.Categoria;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.EventoCategoria;
+import com.syntaxerror.quehayut.models.enums.EstadoCategoria;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import com.syntaxerror.quehayut.repositories.CategoriaRepository;
+import com.syntaxerror.quehayut.repositories.EventoCategoriaRepository;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Los índices de categorías e intervalos se actualizan después del commit en otro hilo,
+// así que las pruebas esperan a que la primera consulta devuelva los eventos creados.
+// Las categorías tienen nombres únicos y las fechas están en 2091 para no cruzarse con otras pruebas.
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventoFiltrosControllerTests {
+
+	private static final LocalDateTime DIA = LocalDateTime.of(2091, 3, 10, 0, 0);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EventoRepository eventoRepository;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private EventoCategoriaRepository eventoCategoriaRepository;
+
+	private final List<EventoCategoria> asociaciones = new ArrayList<>();
+	private final List<Evento> eventos = new ArrayList<>();
+	private final List<Categoria> categorias = new ArrayList<>();
+
+	private Categoria musica;
+	private Categoria deporte;
+	// Creados en otro orden que el de fechaInicio (ensayo < concierto < partido)
+	private Long concierto;
+	private Long ensayo;
+	private Long partido;
+
+	@BeforeEach
+	void crearEventos() {
+		musica = categoria("Música");
+		deporte = categoria("Deporte");
+		concierto = evento("Concierto", DIA.withHour(10), DIA.withHour(12), musica, deporte);
+		ensayo = evento("Ensayo", DIA.withHour(8), DIA.withHour(9), musica);
+		partido = evento("Partido", DIA.withHour(20), DIA.withHour(22), deporte);
+	}
+
+	@AfterEach
+	void limpiar() {
+		eventoCategoriaRepository.deleteAll(asociaciones);
+		eventoRepository.deleteAll(eventos);
+		categoriaRepository.deleteAll(categorias);
+	}
+
+	@Test
+	void modoAnyEsUnionYModoAllInterseccion() throws Exception {
+		esperarIds(get("/api/eventos").param("categoria", musica.getNombre(), deporte.getNombre()).param("modo", "any"),
+				ensayo, concierto, partido);
+
+		assertThat(ids(consultar(get("/api/eventos")
+				.param("categoria", musica.getId() + "," + deporte.getId())
+				.param("modo", "all"))))
+				.containsExactly(concierto);
+	}
+
+	@Test
+	void modoDesconocidoEs400() throws Exception {
+		mockMvc.perform(get("/api/eventos").param("categoria", musica.getNombre()).param("modo", "algunas"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/eventos").param("categoria", "no-existe-" + UUID.randomUUID()))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void categoriaPaginaPorCursor() throws Exception {
+		String categoria = musica.getId() + "," + deporte.getId();
+		esperarIds(get("/api/eventos").param("categoria", categoria), ensayo, concierto, partido);
+
+		JsonNode primera = consultar(get("/api/eventos").param("categoria", categoria).param("limit", "2"));
+		assertThat(ids(primera.get("eventos"))).containsExactly(ensayo, concierto);
+		assertThat(primera.get("siguienteCursor").isTextual()).isTrue();
+
+		JsonNode segunda = consultar(get("/api/eventos")
+				.param("categoria", categoria)
+				.param("limit", "2")
+				.param("cursor", primera.get("siguienteCursor").asText()));
+		assertThat(ids(segunda.get("eventos"))).containsExactly(partido);
+		assertThat(segunda.get("siguienteCursor").isNull()).isTrue();
+	}
+
+	@Test
+	void categoriaConFieldsDevuelveSoloLosCampos() throws Exception {
+		esperarIds(get("/api/eventos").param("categoria", musica.getNombre()), ensayo, concierto);
+
+		JsonNode pagina = consultar(get("/api/eventos")
+				.param("categoria", musica.getNombre())
+				.param("fields", "nombre")
+				.param("limit", "1"));
+
+		JsonNode evento = pagina.get("eventos").get(0);
+		assertThat(evento.size()).isEqualTo(1);
+		assertThat(evento.get("nombre").asText()).isEqualTo("Ensayo");
+		assertThat(pagina.get("siguienteCursor").isTextual()).isTrue();
+
+		// Sin limit ni cursor, el listado filtrado y proyectado se devuelve completo
+		JsonNode completo = consultar(get("/api/eventos").param("categoria", musica.getNombre()).param("fields", "id,nombre"));
+		assertThat(ids(completo)).containsExactly(ensayo, concierto);
+	}
+
+	@Test
+	void ventanaDevuelveLosQueSeSolapan() throws Exception {
+		esperarIds(ventana(DIA.withHour(11), DIA.withHour(21)), concierto, partido);
+
+		assertThat(ids(consultar(ventana(DIA.withHour(9), DIA.withHour(9))))).containsExactly(ensayo);
+		assertThat(ids(consultar(ventana(DIA.withHour(12).plusMinutes(1), DIA.withHour(19))))).isEmpty();
+		assertThat(ids(consultar(ventana(DIA.withHour(21), null)))).containsExactly(partido);
+	}
+
+	@Test
+	void ventanaConCategoriaYPaginacion() throws Exception {
+		esperarIds(ventana(DIA, DIA.plusDays(1)).param("categoria", musica.getNombre()), ensayo, concierto);
+
+		JsonNode primera = consultar(ventana(DIA, DIA.plusDays(1))
+				.param("categoria", musica.getNombre())
+				.param("limit", "1"));
+		assertThat(ids(primera.get("eventos"))).containsExactly(ensayo);
+
+		JsonNode segunda = consultar(ventana(DIA, DIA.plusDays(1))
+				.param("categoria", musica.getNombre())
+				.param("limit", "1")
+				.param("cursor", primera.get("siguienteCursor").asText()));
+		assertThat(ids(segunda.get("eventos"))).containsExactly(concierto);
+		assertThat(segunda.get("siguienteCursor").isNull()).isTrue();
+	}
+
+	private static MockHttpServletRequestBuilder ventana(LocalDateTime desde, LocalDateTime hasta) {
+		MockHttpServletRequestBuilder peticion = get("/api/eventos");
+		if (desde != null) {
+			peticion.param("desde", desde.toString());
+		}
+		if (hasta != null) {
+			peticion.param("hasta", hasta.toString());
+		}
+		return peticion;
+	}
+
+	private JsonNode consultar(MockHttpServletRequestBuilder peticion) throws Exception {
+		String cuerpo = mockMvc.perform(peticion)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(cuerpo);
+	}
+
+	private void esperarIds(MockHttpServletRequestBuilder peticion, Long... esperados) throws Exception {
+		long limite = System.currentTimeMillis() + 5000;
+		List<Long> recibidos = ids(consultar(peticion));
+		while (!recibidos.equals(List.of(esperados))) {
+			if (System.currentTimeMillis() > limite) {
+				fail("Los índices no se actualizaron, recibidos: " + recibidos);
+			}
+			Thread.sleep(20);
+			recibidos = ids(consultar(peticion));
+		}
+	}
+
+	private static List<Long> ids(JsonNode eventos) {
+		List<Long> ids = new ArrayList<>();
+		eventos.forEach(evento -> ids.add(evento.get("id").asLong()));
+		return ids;
+	}
+
+	private Categoria categoria(String nombre) {
+		Categoria categoria = new Categoria();
+		categoria.setNombre(nombre + " " + UUID.randomUUID());
+		categoria.setEstado(EstadoCategoria.ACTIVO);
+		categoria = categoriaRepository.save(categoria);
+		categorias.add(categoria);
+		return categoria;
+	}
+
+	private Long evento(String nombre, LocalDateTime inicio, LocalDateTime fin, Categoria... enCategorias) {
+		Evento evento = new Evento();
+		evento.setNombre(nombre);
+		evento.setFechaInicio(inicio);
+		evento.setFechaFin(fin);
+		evento.setEstado(EstadoEvento.PROGRAMADO);
+		evento = eventoRepository.save(evento);
+		eventos.add(evento);
+		for (Categoria categoria : enCategorias) {
+			EventoCategoria asociacion = new EventoCategoria();
+			asociacion.setEvento(evento);
+			asociacion.setCategoria(categoria);
+			asociaciones.add(eventoCategoriaRepository.save(asociacion));
+		}
+		return evento.getId();
+	}
+}
@@ -0,0 +1,91 @@
+package com.syntaxerror.quehayut.controllers;
+
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.Recordatorio;
+import com.syntaxerror.quehayut.models.Usuario;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import com.syntaxerror.quehayut.models.enums.EstadoRecordatorio;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import com.syntaxerror.quehayut.repositories.RecordatorioRepository;
+import com.syntaxerror.quehayut.repositories.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UsuarioControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private EventoRepository eventoRepository;
+
+	@Autowired
+	private RecordatorioRepository recordatorioRepository;
+
+	private Usuario usuario;
+	private Evento evento;
+	private Recordatorio recordatorio;
+
+	@BeforeEach
+	void crear() {
+		usuario = new Usuario();
+		usuario.setPrimerNombre("Luis");
+		usuario.setPrimerApellido("Gómez");
+		usuario.setTelefono("3007654321");
+		usuario = usuarioRepository.save(usuario);
+
+		evento = new Evento();
+		evento.setNombre("Cine foro");
+		evento.setUbicacion("Auditorio");
+		evento.setFechaInicio(LocalDateTime.of(2093, 4, 1, 18, 0));
+		evento.setEstado(EstadoEvento.PROGRAMADO);
+		evento = eventoRepository.save(evento);
+
+		recordatorio = new Recordatorio();
+		recordatorio.setUsuario(usuario);
+		recordatorio.setEvento(evento);
+		recordatorio.setEstado(EstadoRecordatorio.PENDIENTE);
+		recordatorio = recordatorioRepository.save(recordatorio);
+	}
+
+	@AfterEach
+	void limpiar() {
+		recordatorioRepository.delete(recordatorio);
+		eventoRepository.delete(evento);
+		usuarioRepository.delete(usuario);
+	}
+
+	@Test
+	void agendaDelUsuario() throws Exception {
+		mockMvc.perform(get("/api/usuarios/{id}/agenda", usuario.getId()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.usuarioId").value(usuario.getId()))
+				.andExpect(jsonPath("$.nombre").value("Luis Gómez"))
+				.andExpect(jsonPath("$.recordatorios.length()").value(1))
+				.andExpect(jsonPath("$.recordatorios[0].recordatorioId").value(recordatorio.getId()))
+				.andExpect(jsonPath("$.recordatorios[0].nombreEvento").value("Cine foro"))
+				.andExpect(jsonPath("$.recordatorios[0].estado").value("PENDIENTE"));
+	}
+
+	@Test
+	void usuarioInexistenteEs404() throws Exception {
+		mockMvc.perform(get("/api/usuarios/{id}/agenda", -1L))
+				.andExpect(status().isNotFound());
+	}
+}
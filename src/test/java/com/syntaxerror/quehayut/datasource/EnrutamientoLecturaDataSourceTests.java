@@ -0,0 +1,102 @@
+package com.syntaxerror.quehayut.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Dos bases H2 en memoria, cada una con una fila que dice cuál es: la consulta muestra
+// a qué base llegó la conexión
+class EnrutamientoLecturaDataSourceTests {
+
+	private static final String CONSULTA = "SELECT nombre FROM origen";
+
+	private EnrutamientoLecturaDataSource enrutamiento;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate escritura;
+	private TransactionTemplate lectura;
+
+	@BeforeEach
+	void crear() {
+		DataSource primaria = base("primaria");
+		DataSource replica = base("replica");
+		configurar(primaria, List.of(new EnrutamientoLecturaDataSource.Replica("replica", replica, () -> {
+		})));
+	}
+
+	@AfterEach
+	void cerrar() throws Exception {
+		enrutamiento.close();
+	}
+
+	@Test
+	void lecturaVaALaReplica() {
+		assertThat(lectura.execute(estado -> origen())).isEqualTo("replica");
+	}
+
+	@Test
+	void escrituraVaALaPrimaria() {
+		assertThat(escritura.execute(estado -> origen())).isEqualTo("primaria");
+
+		escritura.executeWithoutResult(estado -> jdbcTemplate.update("UPDATE origen SET nombre = 'primaria-escrita'"));
+		assertThat(escritura.execute(estado -> origen())).isEqualTo("primaria-escrita");
+		assertThat(lectura.execute(estado -> origen())).isEqualTo("replica");
+	}
+
+	@Test
+	void sinTransaccionVaALaPrimaria() {
+		assertThat(origen()).isEqualTo("primaria");
+	}
+
+	@Test
+	void lecturaPrimariaFuerzaLaPrimaria() {
+		assertThat(LecturaPrimaria.obtener(() -> lectura.execute(estado -> origen()))).isEqualTo("primaria");
+		// Fuera de LecturaPrimaria se vuelve a la réplica
+		assertThat(lectura.execute(estado -> origen())).isEqualTo("replica");
+	}
+
+	@Test
+	void replicaCaidaVaALaPrimaria() throws Exception {
+		enrutamiento.close();
+		DriverManagerDataSource caida = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/no-existe");
+		configurar(base("primaria"), List.of(new EnrutamientoLecturaDataSource.Replica("caida", caida, () -> {
+		})));
+
+		assertThat(lectura.execute(estado -> origen())).isEqualTo("primaria");
+	}
+
+	private void configurar(DataSource primaria, List<EnrutamientoLecturaDataSource.Replica> replicas) {
+		enrutamiento = new EnrutamientoLecturaDataSource(primaria, replicas, Duration.ofMinutes(1));
+		// Como en la aplicación: la conexión real se pide cuando la transacción ya es de solo lectura
+		DataSource dataSource = new LazyConnectionDataSourceProxy(enrutamiento);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		escritura = new TransactionTemplate(transactionManager);
+		lectura = new TransactionTemplate(transactionManager);
+		lectura.setReadOnly(true);
+	}
+
+	private String origen() {
+		return jdbcTemplate.queryForObject(CONSULTA, String.class);
+	}
+
+	private static DataSource base(String nombre) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:enrutamiento-" + nombre + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE IF NOT EXISTS origen (nombre VARCHAR(64))");
+		jdbc.update("DELETE FROM origen");
+		jdbc.update("INSERT INTO origen (nombre) VALUES (?)", nombre);
+		return dataSource;
+	}
+}
@@ -0,0 +1,115 @@
+package com.syntaxerror.quehayut.datasource;
+
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Enrutamiento con la configuración real: JpaTransactionManager, HibernateJpaDialect y los
+// repositorios de Spring Data. La "réplica" es la misma base H2 con otro usuario (LECTOR, creado
+// por el INIT de la primaria), así una lectura encuentra los datos y CURRENT_USER dice por qué
+// conexión llegó.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb;INIT=CREATE USER IF NOT EXISTS LECTOR PASSWORD 'lector' ADMIN",
+		"quehayut.datasource.lectura.urls=jdbc:h2:mem:testdb",
+		"quehayut.datasource.lectura.username=lector",
+		"quehayut.datasource.lectura.password=lector",
+		"quehayut.datasource.lectura.intervalo-salud=PT0.1S"
+})
+class EnrutamientoLecturaJpaTests {
+
+	private static final String PRIMARIA = "SA";
+	private static final String REPLICA = "LECTOR";
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EventoRepository eventoRepository;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private TransactionTemplate escritura;
+	private TransactionTemplate lectura;
+	private Evento evento;
+
+	private record Resultado(String usuario, Optional<Evento> evento) {
+	}
+
+	@BeforeEach
+	void crear() {
+		escritura = new TransactionTemplate(transactionManager);
+		lectura = new TransactionTemplate(transactionManager);
+		lectura.setReadOnly(true);
+
+		evento = new Evento();
+		evento.setNombre("Enrutamiento");
+		evento.setFechaInicio(LocalDateTime.of(2095, 1, 1, 10, 0));
+		evento.setEstado(EstadoEvento.PROGRAMADO);
+		evento = eventoRepository.save(evento);
+	}
+
+	@AfterEach
+	void limpiar() {
+		eventoRepository.delete(evento);
+	}
+
+	@Test
+	void usaElAdministradorDeTransaccionesDeJpa() {
+		assertThat(transactionManager).isInstanceOf(JpaTransactionManager.class);
+		assertThat(((JpaTransactionManager) transactionManager).getJpaDialect()).isInstanceOf(HibernateJpaDialect.class);
+	}
+
+	@Test
+	void lecturaDelRepositorioVaALaReplica() {
+		Resultado resultado = lectura.execute(estado ->
+				new Resultado(usuarioActual(), eventoRepository.findById(evento.getId())));
+
+		assertThat(resultado.usuario()).isEqualTo(REPLICA);
+		assertThat(resultado.evento()).map(Evento::getNombre).hasValue("Enrutamiento");
+	}
+
+	@Test
+	void escrituraVaALaPrimaria() {
+		String usuario = escritura.execute(estado -> {
+			Evento cambiado = eventoRepository.findById(evento.getId()).orElseThrow();
+			cambiado.setNombre("Enrutamiento escrito");
+			eventoRepository.saveAndFlush(cambiado);
+			return usuarioActual();
+		});
+
+		assertThat(usuario).isEqualTo(PRIMARIA);
+		assertThat(lectura.execute(estado -> eventoRepository.findById(evento.getId())))
+				.map(Evento::getNombre).hasValue("Enrutamiento escrito");
+	}
+
+	@Test
+	void lecturaPrimariaFuerzaLaPrimaria() {
+		Resultado resultado = LecturaPrimaria.obtener(() -> lectura.execute(estado ->
+				new Resultado(usuarioActual(), eventoRepository.findById(evento.getId()))));
+
+		assertThat(resultado.usuario()).isEqualTo(PRIMARIA);
+		assertThat(resultado.evento()).isPresent();
+	}
+
+	// Se consulta dentro de la transacción, por la misma conexión que usó el repositorio
+	private String usuarioActual() {
+		return (String) entityManager.createNativeQuery("SELECT CURRENT_USER").getSingleResult();
+	}
+}
@@ -0,0 +1,53 @@
+package com.syntaxerror.quehayut.dto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CursorEventoTests {
+
+	@Test
+	void codificarYDecodificarDevuelveElMismoCursor() {
+		CursorEvento cursor = new CursorEvento(LocalDateTime.of(2026, 3, 10, 18, 30, 15, 123_456_000), 987_654_321L);
+
+		assertThat(CursorEvento.decodificar(cursor.codificar())).isEqualTo(cursor);
+	}
+
+	@Test
+	void horaExactaTambienIdaYVuelta() {
+		// LocalDateTime.toString omite los segundos en cero ("2026-03-10T18:00")
+		CursorEvento cursor = new CursorEvento(LocalDateTime.of(2026, 3, 10, 18, 0), 1L);
+
+		assertThat(CursorEvento.decodificar(cursor.codificar())).isEqualTo(cursor);
+	}
+
+	@Test
+	void codificadoEsSeguroParaUrl() {
+		String codificado = new CursorEvento(LocalDateTime.of(2026, 3, 10, 18, 30), 42L).codificar();
+
+		assertThat(codificado).matches("[A-Za-z0-9_-]+");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"", "!!!", "no es base64"})
+	void base64InvalidoEsIllegalArgument(String cursor) {
+		assertThatIllegalArgumentException().isThrownBy(() -> CursorEvento.decodificar(cursor))
+				.withMessageStartingWith("Cursor inválido");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"sin-separador", "2026-03-10T18:30|", "2026-03-10T18:30|abc", "ayer|42", "|42"})
+	void contenidoInvalidoEsIllegalArgument(String valor) {
+		String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+
+		assertThatIllegalArgumentException().isThrownBy(() -> CursorEvento.decodificar(cursor))
+				.withMessageStartingWith("Cursor inválido");
+	}
+}
@@ -0,0 +1,98 @@
+package com.syntaxerror.quehayut.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syntaxerror.quehayut.models.Usuario;
+import com.syntaxerror.quehayut.repositories.UsuarioRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Las sentencias se cuentan sobre la agenda de un usuario: sin el usuario es un solo SELECT,
+// con el usuario dos (el usuario y sus recordatorios con evento y categorías)
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=rendimiento")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricasPeticionesTests {
+
+	private static final String RUTA = "GET /api/usuarios/{id}/agenda";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	private Usuario usuario;
+
+	@BeforeEach
+	void crearUsuario() {
+		meterRegistry.find(MetricasPeticionesFilter.METRICA_SENTENCIAS).meters().forEach(meterRegistry::remove);
+		meterRegistry.find("http.server.requests").meters().forEach(meterRegistry::remove);
+		usuario = new Usuario();
+		usuario.setPrimerNombre("Marta");
+		usuario.setPrimerApellido("Ríos");
+		usuario = usuarioRepository.save(usuario);
+	}
+
+	@AfterEach
+	void limpiar() {
+		usuarioRepository.delete(usuario);
+	}
+
+	@Test
+	void cuentaLasSentenciasDeCadaPeticionPorRuta() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(get("/api/usuarios/{id}/agenda", -1L)).andExpect(status().isNotFound());
+		}
+		mockMvc.perform(get("/api/usuarios/{id}/agenda", usuario.getId())).andExpect(status().isOk());
+
+		DistributionSummary sentencias = meterRegistry.get(MetricasPeticionesFilter.METRICA_SENTENCIAS)
+				.tag("method", "GET")
+				.tag("uri", "/api/usuarios/{id}/agenda")
+				.summary();
+		assertThat(sentencias.count()).isEqualTo(4);
+		assertThat(sentencias.totalAmount()).isEqualTo(5.0);
+		assertThat(sentencias.max()).isEqualTo(2.0);
+	}
+
+	@Test
+	void rendimientoResumeLatenciaYSentenciasPorRuta() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(get("/api/usuarios/{id}/agenda", -1L)).andExpect(status().isNotFound());
+		}
+		mockMvc.perform(get("/api/usuarios/{id}/agenda", usuario.getId())).andExpect(status().isOk());
+
+		String cuerpo = mockMvc.perform(get("/actuator/rendimiento"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		JsonNode ruta = objectMapper.readTree(cuerpo).path("rutas").path(RUTA);
+
+		assertThat(ruta.path("status 404").path("peticiones").asLong()).isEqualTo(2);
+		assertThat(ruta.path("status 200").path("peticiones").asLong()).isEqualTo(1);
+		assertThat(ruta.path("status 200").has("maxMs")).isTrue();
+
+		JsonNode sentencias = ruta.path("sentenciasSql");
+		assertThat(sentencias.path("peticiones").asLong()).isEqualTo(3);
+		assertThat(sentencias.path("max").asDouble()).isEqualTo(2.0);
+		assertThat(sentencias.has("p50")).isTrue();
+		assertThat(sentencias.has("p99")).isTrue();
+	}
+}
@@ -0,0 +1,57 @@
+package com.syntaxerror.quehayut.metrics;
+
+import com.syntaxerror.quehayut.repositories.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+// Con umbral 0 toda sentencia es "lenta". El registro y el EXPLAIN corren en otro hilo,
+// así que la prueba espera a que aparezca la consulta del repositorio.
+@SpringBootTest(properties = "quehayut.consultas-lentas.umbral=PT0S")
+class RegistroConsultasLentasTests {
+
+	private static final long ID_BUSCADO = 987_654_321L;
+
+	@Autowired
+	private RegistroConsultasLentas registro;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Test
+	void registraSentenciaParametrosMetodoYPlan() throws Exception {
+		registro.limpiar();
+
+		assertThat(usuarioRepository.findById(ID_BUSCADO)).isEmpty();
+
+		RegistroConsultasLentas.ConsultaLenta consulta = esperarConsulta("UsuarioRepository.findById");
+		assertThat(consulta.duracionMs()).isGreaterThanOrEqualTo(0);
+		assertThat(consulta.sql().toLowerCase(Locale.ROOT)).startsWith("select").contains("from usuarios");
+		assertThat(consulta.parametros()).containsExactly(String.valueOf(ID_BUSCADO));
+		// Plan de H2: la consulta reescrita con el índice que usa
+		assertThat(consulta.plan()).isNotNull().doesNotStartWith("EXPLAIN no disponible");
+		assertThat(consulta.plan().toUpperCase(Locale.ROOT)).contains("USUARIOS");
+	}
+
+	private RegistroConsultasLentas.ConsultaLenta esperarConsulta(String metodo) throws InterruptedException {
+		long limite = System.currentTimeMillis() + 5000;
+		while (true) {
+			Optional<RegistroConsultasLentas.ConsultaLenta> consulta = registro.listar().stream()
+					.filter(registrada -> metodo.equals(registrada.metodoRepositorio()))
+					.findFirst();
+			if (consulta.isPresent()) {
+				return consulta.get();
+			}
+			if (System.currentTimeMillis() > limite) {
+				fail("No se registró la consulta de " + metodo + ", registradas: " + registro.listar());
+			}
+			Thread.sleep(20);
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.AgendaUsuario;
+import com.syntaxerror.quehayut.dto.EntradaAgenda;
+import com.syntaxerror.quehayut.events.EventosModificados;
+import com.syntaxerror.quehayut.events.RecordatoriosModificados;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.Recordatorio;
+import com.syntaxerror.quehayut.models.Usuario;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import com.syntaxerror.quehayut.models.enums.EstadoRecordatorio;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import com.syntaxerror.quehayut.repositories.RecordatorioRepository;
+import com.syntaxerror.quehayut.repositories.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// La agenda se arma a mano con umbral 2 y los cambios se entregan llamando a los listeners,
+// sin esperar la publicación asíncrona de RegistroCambios
+@SpringBootTest
+class AgendaUsuariosTests {
+
+	private static final LocalDateTime INICIO = LocalDateTime.of(2093, 2, 1, 10, 0);
+
+	@Autowired
+	private RecordatorioRepository recordatorioRepository;
+
+	@Autowired
+	private EventoRepository eventoRepository;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final AtomicInteger transacciones = new AtomicInteger();
+	private final List<Long> recordatorios = new ArrayList<>();
+	private final List<Long> eventos = new ArrayList<>();
+	private TransactionTemplate transactionTemplate;
+	private AgendaUsuarios agendaUsuarios;
+	private Usuario usuario;
+
+	@BeforeEach
+	void crear() {
+		transactionTemplate = new TransactionTemplate(new ContadorTransacciones());
+		agendaUsuarios = new AgendaUsuarios(recordatorioRepository, usuarioRepository, transactionTemplate, 2, 10);
+		usuario = new Usuario();
+		usuario.setPrimerNombre("Ana");
+		usuario.setPrimerApellido("López");
+		usuario.setTelefono("3001234567");
+		usuario = usuarioRepository.save(usuario);
+	}
+
+	@AfterEach
+	void limpiar() {
+		recordatorioRepository.deleteAllById(recordatorios);
+		eventoRepository.deleteAllById(eventos);
+		usuarioRepository.delete(usuario);
+	}
+
+	@Test
+	void agendaPrecalculadaNoAbreTransaccion() {
+		recordatorio(evento("Feria", INICIO.plusDays(1)));
+		recordatorio(evento("Taller", INICIO));
+		recordatoriosModificados();
+		assertThat(agendaUsuarios.estaPrecalculada(usuario.getId())).isTrue();
+
+		transacciones.set(0);
+		AgendaUsuario agenda = agendaUsuarios.agenda(usuario.getId()).orElseThrow();
+
+		assertThat(transacciones).hasValue(0);
+		assertThat(agenda.nombre()).isEqualTo("Ana López");
+		assertThat(agenda.recordatorios()).extracting(EntradaAgenda::nombreEvento).containsExactly("Taller", "Feria");
+	}
+
+	@Test
+	void agendaNoPrecalculadaSeArmaEnUnaTransaccion() {
+		recordatorio(evento("Feria", INICIO));
+
+		transacciones.set(0);
+		AgendaUsuario agenda = agendaUsuarios.agenda(usuario.getId()).orElseThrow();
+
+		assertThat(transacciones).hasValue(1);
+		assertThat(agendaUsuarios.estaPrecalculada(usuario.getId())).isFalse();
+		assertThat(agenda.recordatorios()).extracting(EntradaAgenda::nombreEvento).containsExactly("Feria");
+		assertThat(agendaUsuarios.agenda(-1L)).isEmpty();
+	}
+
+	@Test
+	void laAgendaPrecalculadaSigueLosCambios() {
+		Evento feria = evento("Feria", INICIO);
+		Long primero = recordatorio(feria);
+		recordatoriosModificados();
+		assertThat(agendaUsuarios.estaPrecalculada(usuario.getId())).isFalse();
+
+		// Con el segundo recordatorio llega al umbral
+		recordatorio(evento("Taller", INICIO.plusDays(1)));
+		recordatoriosModificados();
+		assertThat(agendaUsuarios.estaPrecalculada(usuario.getId())).isTrue();
+
+		// Un cambio del evento se ve en la agenda ya armada
+		feria.setNombre("Feria de ciencias");
+		eventoRepository.save(feria);
+		transactionTemplate.executeWithoutResult(estado ->
+				agendaUsuarios.eventosModificados(new EventosModificados(Set.of(feria.getId()))));
+		assertThat(agendaUsuarios.agenda(usuario.getId()).orElseThrow().recordatorios())
+				.extracting(EntradaAgenda::nombreEvento)
+				.containsExactly("Feria de ciencias", "Taller");
+
+		// Al cancelar uno queda bajo el umbral y deja de estar precalculada
+		Recordatorio cancelado = recordatorioRepository.findById(primero).orElseThrow();
+		cancelado.setEstado(EstadoRecordatorio.CANCELADO);
+		recordatorioRepository.save(cancelado);
+		recordatoriosModificados();
+		assertThat(agendaUsuarios.estaPrecalculada(usuario.getId())).isFalse();
+		assertThat(agendaUsuarios.agenda(usuario.getId()).orElseThrow().recordatorios())
+				.extracting(EntradaAgenda::nombreEvento)
+				.containsExactly("Taller");
+	}
+
+	private void recordatoriosModificados() {
+		transactionTemplate.executeWithoutResult(estado ->
+				agendaUsuarios.recordatoriosModificados(new RecordatoriosModificados(Set.copyOf(recordatorios))));
+	}
+
+	private Evento evento(String nombre, LocalDateTime fechaInicio) {
+		Evento evento = new Evento();
+		evento.setNombre(nombre);
+		evento.setFechaInicio(fechaInicio);
+		evento.setEstado(EstadoEvento.PROGRAMADO);
+		evento = eventoRepository.save(evento);
+		eventos.add(evento.getId());
+		return evento;
+	}
+
+	private Long recordatorio(Evento evento) {
+		Recordatorio recordatorio = new Recordatorio();
+		recordatorio.setUsuario(usuario);
+		recordatorio.setEvento(evento);
+		recordatorio.setEstado(EstadoRecordatorio.PENDIENTE);
+		Long id = recordatorioRepository.save(recordatorio).getId();
+		recordatorios.add(id);
+		return id;
+	}
+
+	// Cuenta las transacciones que se piden y delega en el administrador real
+	private class ContadorTransacciones implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definicion) {
+			transacciones.incrementAndGet();
+			return transactionManager.getTransaction(definicion);
+		}
+
+		@Override
+		public void commit(TransactionStatus estado) {
+			transactionManager.commit(estado);
+		}
+
+		@Override
+		public void rollback(TransactionStatus estado) {
+			transactionManager.rollback(estado);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.syntaxerror.quehayut.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnilloCambiosTests {
+
+	@Test
+	void capacidadSeRedondeaAPotenciaDeDos() {
+		assertThat(new AnilloCambios(5).capacidad()).isEqualTo(8);
+		assertThat(new AnilloCambios(8).capacidad()).isEqualTo(8);
+		assertThat(new AnilloCambios(1).capacidad()).isEqualTo(1);
+	}
+
+	@Test
+	void secuenciasEmpiezanEnUno() {
+		AnilloCambios anillo = new AnilloCambios(4);
+		assertThat(anillo.ultima()).isZero();
+
+		assertThat(anillo.publicar("creado", json("a"))).isEqualTo(1);
+		assertThat(anillo.publicar("estado", json("b"))).isEqualTo(2);
+
+		AnilloCambios.Cambio cambio = anillo.leer(2);
+		assertThat(cambio.secuencia()).isEqualTo(2);
+		assertThat(cambio.tipo()).isEqualTo("estado");
+		assertThat(new String(cambio.json(), StandardCharsets.UTF_8)).isEqualTo("\"b\"");
+	}
+
+	@Test
+	void fueraDeRangoDevuelveNull() {
+		AnilloCambios anillo = new AnilloCambios(4);
+		anillo.publicar("creado", json("a"));
+
+		assertThat(anillo.leer(0)).isNull();
+		assertThat(anillo.leer(-1)).isNull();
+		assertThat(anillo.leer(2)).isNull();
+	}
+
+	@Test
+	void alDarLaVueltaLoSobrescritoYaNoSeLee() {
+		AnilloCambios anillo = new AnilloCambios(4);
+		for (int i = 1; i <= 6; i++) {
+			anillo.publicar("actualizado", json(Integer.toString(i)));
+		}
+
+		// Con capacidad 4 solo quedan las secuencias 3 a 6
+		assertThat(anillo.leer(1)).isNull();
+		assertThat(anillo.leer(2)).isNull();
+		for (long secuencia = 3; secuencia <= 6; secuencia++) {
+			assertThat(anillo.leer(secuencia).secuencia()).isEqualTo(secuencia);
+		}
+	}
+
+	private static byte[] json(String valor) {
+		return ("\"" + valor + "\"").getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,134 @@
+package com.syntaxerror.quehayut.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArbolIntervalosTests {
+
+	@Test
+	void insercionesOrdenadasQuedanBalanceadas() {
+		ArbolIntervalos ascendente = new ArbolIntervalos();
+		ArbolIntervalos descendente = new ArbolIntervalos();
+		for (int i = 0; i < 1023; i++) {
+			ascendente.insertar(i, i, i + 1);
+			descendente.insertar(i, 1023 - i, 1024 - i);
+		}
+
+		// Insertar 2^k - 1 claves en orden deja un árbol completo
+		assertThat(ascendente.altura()).isEqualTo(10);
+		assertThat(descendente.altura()).isEqualTo(10);
+		assertThat(ascendente.tamano()).isEqualTo(1023);
+	}
+
+	@Test
+	void eliminacionesMantienenElBalance() {
+		ArbolIntervalos arbol = new ArbolIntervalos();
+		for (int i = 0; i < 4096; i++) {
+			arbol.insertar(i, i, i);
+		}
+		// Se eliminan todos los de la mitad izquierda: sin rotaciones el árbol quedaría cargado a la derecha
+		for (int i = 0; i < 2048; i++) {
+			arbol.eliminar(i, i);
+		}
+
+		assertThat(arbol.tamano()).isEqualTo(2048);
+		assertThat(arbol.altura()).isLessThanOrEqualTo(alturaMaximaAvl(2048));
+		assertThat(consultar(arbol, 0, 2047)).isEmpty();
+		assertThat(consultar(arbol, 2048, 2050)).containsExactly(2048L, 2049L, 2050L);
+	}
+
+	@Test
+	void losBordesDeLaVentanaCuentanComoSolapamiento() {
+		ArbolIntervalos arbol = new ArbolIntervalos();
+		arbol.insertar(1, 10, 20);
+		arbol.insertar(2, 15, 15);
+
+		assertThat(consultar(arbol, 20, 30)).containsExactly(1L);
+		assertThat(consultar(arbol, 0, 10)).containsExactly(1L);
+		assertThat(consultar(arbol, 15, 15)).containsExactly(1L, 2L);
+		assertThat(consultar(arbol, 21, 30)).isEmpty();
+		assertThat(consultar(arbol, 0, 9)).isEmpty();
+		assertThat(consultar(arbol, 16, 16)).containsExactly(1L);
+	}
+
+	@Test
+	void intervaloLargoSeEncuentraAunqueEmpieceAntesQueLosDemas() {
+		ArbolIntervalos arbol = new ArbolIntervalos();
+		arbol.insertar(1, 0, 1000);
+		for (int i = 2; i < 100; i++) {
+			arbol.insertar(i, i * 5, i * 5 + 1);
+		}
+
+		// El fin máximo del subárbol izquierdo es el que permite llegar al intervalo 1
+		assertThat(consultar(arbol, 900, 950)).containsExactly(1L);
+	}
+
+	@Test
+	void reinsertarElMismoIdActualizaElFin() {
+		ArbolIntervalos arbol = new ArbolIntervalos();
+		arbol.insertar(1, 10, 20);
+		arbol.insertar(1, 10, 50);
+
+		assertThat(arbol.tamano()).isEqualTo(1);
+		assertThat(consultar(arbol, 40, 45)).containsExactly(1L);
+	}
+
+	@Test
+	void eliminarUnoQueNoExisteNoCambiaNada() {
+		ArbolIntervalos arbol = new ArbolIntervalos();
+		arbol.insertar(1, 10, 20);
+		arbol.eliminar(1, 11);
+		arbol.eliminar(2, 10);
+
+		assertThat(arbol.tamano()).isEqualTo(1);
+	}
+
+	@Test
+	void coincideConUnaBusquedaLineal() {
+		Random random = new Random(42);
+		ArbolIntervalos arbol = new ArbolIntervalos();
+		Map<Long, long[]> intervalos = new HashMap<>();
+		for (long id = 0; id < 2000; id++) {
+			long inicio = random.nextInt(10_000);
+			long fin = inicio + random.nextInt(200);
+			arbol.insertar(id, inicio, fin);
+			intervalos.put(id, new long[]{inicio, fin});
+		}
+		for (long id = 0; id < 2000; id += 3) {
+			arbol.eliminar(id, intervalos.remove(id)[0]);
+		}
+		assertThat(arbol.tamano()).isEqualTo(intervalos.size());
+		assertThat(arbol.altura()).isLessThanOrEqualTo(alturaMaximaAvl(intervalos.size()));
+
+		for (int i = 0; i < 200; i++) {
+			long desde = random.nextInt(10_500) - 250;
+			long hasta = desde + random.nextInt(500);
+			List<Long> esperados = intervalos.entrySet().stream()
+					.filter(e -> e.getValue()[0] <= hasta && e.getValue()[1] >= desde)
+					.sorted((a, b) -> a.getValue()[0] != b.getValue()[0]
+							? Long.compare(a.getValue()[0], b.getValue()[0])
+							: Long.compare(a.getKey(), b.getKey()))
+					.map(Map.Entry::getKey)
+					.toList();
+			// Los ids salen ordenados por (inicio, id)
+			assertThat(consultar(arbol, desde, hasta)).containsExactlyElementsOf(esperados);
+		}
+	}
+
+	private static List<Long> consultar(ArbolIntervalos arbol, long desde, long hasta) {
+		List<Long> ids = new ArrayList<>();
+		arbol.consultar(desde, hasta, ids::add);
+		return ids;
+	}
+
+	private static int alturaMaximaAvl(int nodos) {
+		return (int) Math.floor(1.44 * Math.log(nodos + 2) / Math.log(2));
+	}
+}
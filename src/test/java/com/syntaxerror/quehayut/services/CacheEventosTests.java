@@ -0,0 +1,148 @@
+package com.syntaxerror.quehayut.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.syntaxerror.quehayut.dto.PaginaEventos;
+import com.syntaxerror.quehayut.models.Categoria;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.EventoCategoria;
+import com.syntaxerror.quehayut.models.enums.EstadoCategoria;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import com.syntaxerror.quehayut.repositories.CategoriaRepository;
+import com.syntaxerror.quehayut.repositories.EventoCategoriaRepository;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+// La invalidación corre después del commit en otro hilo, así que las pruebas esperan a que
+// desaparezca la entrada 'todos' después de cada escritura
+@SpringBootTest
+class CacheEventosTests {
+
+	@Autowired
+	private EventoService eventoService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EventoRepository eventoRepository;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private EventoCategoriaRepository eventoCategoriaRepository;
+
+	private final List<Evento> eventos = new ArrayList<>();
+	private Categoria categoria;
+
+	@BeforeEach
+	void crearCategoria() {
+		categoria = new Categoria();
+		categoria.setNombre("Cache " + UUID.randomUUID());
+		categoria.setEstado(EstadoCategoria.ACTIVO);
+		categoria = categoriaRepository.save(categoria);
+	}
+
+	@AfterEach
+	void limpiar() {
+		eventoRepository.deleteAll(eventos);
+		categoriaRepository.delete(categoria);
+	}
+
+	@Test
+	void elPesoEsLaCantidadDeEventos() {
+		assertThat(PesoCacheEventos.peso(Collections.nCopies(250, "evento"))).isEqualTo(250);
+		assertThat(PesoCacheEventos.peso(new PaginaEventos<>(Collections.nCopies(20, "evento"), null))).isEqualTo(20);
+		assertThat(PesoCacheEventos.peso(List.of())).isEqualTo(1);
+		assertThat(PesoCacheEventos.peso("otro")).isEqualTo(1);
+
+		Cache<Object, Object> nativa = nativa();
+		assertThat(nativa.policy().eviction().orElseThrow().isWeighted()).isTrue();
+		nativa.invalidateAll();
+		nativa.put("prueba", Collections.nCopies(250, "evento"));
+		nativa.cleanUp();
+		assertThat(nativa.policy().eviction().orElseThrow().weightedSize()).hasValue(250);
+		nativa.invalidate("prueba");
+	}
+
+	@Test
+	void guardarYBorrarUnEventoInvalidanElListado() throws Exception {
+		listar();
+		Evento evento = evento("Feria");
+		esperarInvalidacion();
+
+		listar();
+		evento.setNombre("Feria de ciencias");
+		eventoRepository.save(evento);
+		esperarInvalidacion();
+
+		listar();
+		eventoRepository.delete(evento);
+		eventos.remove(evento);
+		esperarInvalidacion();
+	}
+
+	@Test
+	void guardarYBorrarUnaCategoriaDelEventoInvalidanElListado() throws Exception {
+		Evento evento = evento("Concierto");
+		esperarInvalidacion();
+
+		listar();
+		EventoCategoria asociacion = new EventoCategoria();
+		asociacion.setEvento(evento);
+		asociacion.setCategoria(categoria);
+		asociacion = eventoCategoriaRepository.save(asociacion);
+		esperarInvalidacion();
+
+		listar();
+		eventoCategoriaRepository.delete(asociacion);
+		esperarInvalidacion();
+	}
+
+	// Deja en la caché el listado completo y una página
+	private void listar() {
+		eventoService.listarTodos();
+		eventoService.pagina(null, 20);
+		assertThat(cacheManager.getCache(EventoService.CACHE_EVENTOS).get("todos")).isNotNull();
+		assertThat(nativa().estimatedSize()).isGreaterThanOrEqualTo(2);
+	}
+
+	private void esperarInvalidacion() throws InterruptedException {
+		long limite = System.currentTimeMillis() + 5000;
+		while (cacheManager.getCache(EventoService.CACHE_EVENTOS).get("todos") != null) {
+			if (System.currentTimeMillis() > limite) {
+				fail("La caché de eventos no se invalidó");
+			}
+			Thread.sleep(20);
+		}
+	}
+
+	private Cache<Object, Object> nativa() {
+		return ((CaffeineCache) cacheManager.getCache(EventoService.CACHE_EVENTOS)).getNativeCache();
+	}
+
+	private Evento evento(String nombre) {
+		Evento evento = new Evento();
+		evento.setNombre(nombre);
+		evento.setFechaInicio(LocalDateTime.of(2094, 6, 1, 9, 0));
+		evento.setEstado(EstadoEvento.PROGRAMADO);
+		evento = eventoRepository.save(evento);
+		eventos.add(evento);
+		return evento;
+	}
+}
@@ -0,0 +1,120 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.events.RegistroCambios;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// El ciclo de vida se arma a mano: en las pruebas el bean está deshabilitado
+// (quehayut.eventos.ciclo-vida.habilitado=false). Los ids publicados se guardan en lugar de
+// pasar a RegistroCambios.
+@SpringBootTest
+class CicloVidaEventosTests {
+
+	private static final Duration SIN_FECHA_FIN = Duration.ofHours(2);
+
+	@Autowired
+	private EventoRepository eventoRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final List<Long> publicados = new ArrayList<>();
+	private final List<Long> creados = new ArrayList<>();
+	private CicloVidaEventos cicloVida;
+
+	@BeforeEach
+	void crearCicloVida() {
+		RegistroCambios registroCambios = mock(RegistroCambios.class);
+		doAnswer(invocacion -> publicados.addAll(invocacion.<Collection<Long>>getArgument(0)))
+				.when(registroCambios).registrarEventos(anyCollection());
+		cicloVida = new CicloVidaEventos(eventoRepository, registroCambios, transactionTemplate, SIN_FECHA_FIN);
+	}
+
+	@AfterEach
+	void limpiar() {
+		eventoRepository.deleteAllById(creados);
+	}
+
+	@Test
+	void avanzaSegunLasFechas() {
+		LocalDateTime ahora = LocalDateTime.now();
+		Long empezando = evento(EstadoEvento.PROGRAMADO, ahora.minusHours(1), ahora.plusHours(1));
+		Long terminadoSinEmpezar = evento(EstadoEvento.PROGRAMADO, ahora.minusHours(3), ahora.minusHours(1));
+		Long terminado = evento(EstadoEvento.EN_CURSO, ahora.minusHours(3), ahora.minusHours(1));
+		Long futuro = evento(EstadoEvento.PROGRAMADO, ahora.plusDays(1), ahora.plusDays(1).plusHours(2));
+		Long cancelado = evento(EstadoEvento.CANCELADO, ahora.minusHours(3), ahora.minusHours(1));
+
+		cicloVida.avanzar();
+
+		assertThat(estado(empezando)).isEqualTo(EstadoEvento.EN_CURSO);
+		assertThat(estado(terminadoSinEmpezar)).isEqualTo(EstadoEvento.FINALIZADO);
+		assertThat(estado(terminado)).isEqualTo(EstadoEvento.FINALIZADO);
+		assertThat(estado(futuro)).isEqualTo(EstadoEvento.PROGRAMADO);
+		assertThat(estado(cancelado)).isEqualTo(EstadoEvento.CANCELADO);
+
+		assertThat(publicados).contains(empezando, terminadoSinEmpezar, terminado)
+				.doesNotContain(futuro, cancelado);
+	}
+
+	@Test
+	void sinFechaFinTerminaDespuesDeLaDuracionConfigurada() {
+		LocalDateTime ahora = LocalDateTime.now();
+		// Empezó hace una hora: con 2 horas de duración sigue en curso
+		Long reciente = evento(EstadoEvento.PROGRAMADO, ahora.minusHours(1), null);
+		// Empezó hace tres horas: ya pasó la duración
+		Long viejo = evento(EstadoEvento.EN_CURSO, ahora.minusHours(3), null);
+
+		cicloVida.avanzar();
+
+		assertThat(estado(reciente)).isEqualTo(EstadoEvento.EN_CURSO);
+		assertThat(estado(viejo)).isEqualTo(EstadoEvento.FINALIZADO);
+		assertThat(publicados).contains(reciente, viejo);
+	}
+
+	@Test
+	void sinCambiosNoPublicaNada() {
+		LocalDateTime ahora = LocalDateTime.now();
+		Long empezando = evento(EstadoEvento.PROGRAMADO, ahora.minusHours(1), ahora.plusHours(1));
+		cicloVida.avanzar();
+		assertThat(publicados).contains(empezando);
+
+		publicados.clear();
+		cicloVida.avanzar();
+
+		assertThat(publicados).doesNotContain(empezando);
+		assertThat(estado(empezando)).isEqualTo(EstadoEvento.EN_CURSO);
+	}
+
+	private EstadoEvento estado(Long id) {
+		return eventoRepository.findById(id).orElseThrow().getEstado();
+	}
+
+	private Long evento(EstadoEvento estado, LocalDateTime fechaInicio, LocalDateTime fechaFin) {
+		Evento evento = new Evento();
+		evento.setNombre("Ciclo de vida");
+		evento.setFechaInicio(fechaInicio);
+		evento.setFechaFin(fechaFin);
+		evento.setEstado(estado);
+		Long id = eventoRepository.save(evento).getId();
+		creados.add(id);
+		return id;
+	}
+}
@@ -0,0 +1,178 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.events.RegistroCambios;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.models.Recordatorio;
+import com.syntaxerror.quehayut.models.Usuario;
+import com.syntaxerror.quehayut.models.enums.EstadoEvento;
+import com.syntaxerror.quehayut.models.enums.EstadoRecordatorio;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import com.syntaxerror.quehayut.repositories.RecordatorioRepository;
+import com.syntaxerror.quehayut.repositories.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// El despachador se arma a mano con el EnviadorRecordatoriosLocal: en las pruebas el bean
+// está deshabilitado (quehayut.recordatorios.habilitado=false) para que el barrido no corra solo
+@SpringBootTest
+class DespachadorRecordatoriosTests {
+
+	private static final Duration ESPERA_BASE = Duration.ofSeconds(30);
+
+	@Autowired
+	private RecordatorioRepository recordatorioRepository;
+
+	@Autowired
+	private EventoRepository eventoRepository;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private RegistroCambios registroCambios;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Usuario usuario;
+
+	@BeforeEach
+	void crearUsuario() {
+		usuario = new Usuario();
+		usuario.setPrimerNombre("Ana");
+		usuario.setPrimerApellido("López");
+		usuario.setTelefono("3001234567");
+		usuario = usuarioRepository.save(usuario);
+	}
+
+	@AfterEach
+	void limpiar() {
+		recordatorioRepository.deleteAllInBatch();
+		eventoRepository.deleteAllInBatch();
+		usuarioRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void barridoEnviaSoloLosPendientesDentroDeLaAnticipacion() {
+		LocalDateTime ahora = LocalDateTime.now();
+		Long proximo = recordatorio(evento(ahora.plusMinutes(30), null), EstadoRecordatorio.PENDIENTE, 0, null);
+		Long lejano = recordatorio(evento(ahora.plusDays(3), null), EstadoRecordatorio.PENDIENTE, 0, null);
+		Long terminado = recordatorio(evento(ahora.minusHours(3), ahora.minusHours(1)), EstadoRecordatorio.PENDIENTE, 0, null);
+		EnviadorRecordatoriosLocal enviador = new EnviadorRecordatoriosLocal(0);
+
+		despachador(enviador).barrer();
+
+		assertThat(enviador.getEnviados()).isEqualTo(1);
+		assertThat(estado(proximo)).isEqualTo(EstadoRecordatorio.ENVIADO);
+		assertThat(recordatorioRepository.findById(proximo).orElseThrow().getProximoIntento()).isNull();
+		assertThat(estado(lejano)).isEqualTo(EstadoRecordatorio.PENDIENTE);
+		assertThat(estado(terminado)).isEqualTo(EstadoRecordatorio.PENDIENTE);
+	}
+
+	@Test
+	void falloQuedaFallidoConReintentoProgramado() {
+		Long id = recordatorio(evento(LocalDateTime.now().plusMinutes(30), null), EstadoRecordatorio.PENDIENTE, 0, null);
+		EnviadorRecordatoriosLocal falla = new EnviadorRecordatoriosLocal(1);
+
+		LocalDateTime antes = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+		despachador(falla).barrer();
+		LocalDateTime despues = LocalDateTime.now();
+
+		Recordatorio fallido = recordatorioRepository.findById(id).orElseThrow();
+		assertThat(fallido.getEstado()).isEqualTo(EstadoRecordatorio.FALLIDO);
+		assertThat(fallido.getIntentos()).isEqualTo(1);
+		assertThat(fallido.getProximoIntento()).isBetween(antes.plus(ESPERA_BASE), despues.plus(ESPERA_BASE));
+
+		// Antes de proximoIntento no se vuelve a reclamar
+		despachador(falla).barrer();
+		assertThat(falla.getFallidos()).isEqualTo(1);
+
+		// Vencida la espera, el reintento se envía
+		fallido.setProximoIntento(LocalDateTime.now().minusSeconds(1));
+		recordatorioRepository.save(fallido);
+		EnviadorRecordatoriosLocal enviador = new EnviadorRecordatoriosLocal(0);
+		despachador(enviador).barrer();
+
+		assertThat(enviador.getEnviados()).isEqualTo(1);
+		assertThat(estado(id)).isEqualTo(EstadoRecordatorio.ENVIADO);
+	}
+
+	@Test
+	void segundoFalloDuplicaLaEspera() {
+		Long id = recordatorio(evento(LocalDateTime.now().plusMinutes(30), null),
+				EstadoRecordatorio.FALLIDO, 1, LocalDateTime.now().minusSeconds(1));
+
+		LocalDateTime antes = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+		despachador(new EnviadorRecordatoriosLocal(1)).barrer();
+
+		Recordatorio fallido = recordatorioRepository.findById(id).orElseThrow();
+		assertThat(fallido.getIntentos()).isEqualTo(2);
+		assertThat(fallido.getProximoIntento()).isAfterOrEqualTo(antes.plus(ESPERA_BASE.multipliedBy(2)));
+	}
+
+	@Test
+	void sinReintentosDisponiblesNoSeReclama() {
+		Long id = recordatorio(evento(LocalDateTime.now().plusMinutes(30), null),
+				EstadoRecordatorio.FALLIDO, 5, LocalDateTime.now().minusSeconds(1));
+		EnviadorRecordatoriosLocal enviador = new EnviadorRecordatoriosLocal(0);
+
+		despachador(enviador).barrer();
+
+		assertThat(enviador.getEnviados()).isZero();
+		assertThat(estado(id)).isEqualTo(EstadoRecordatorio.FALLIDO);
+	}
+
+	@Test
+	void despacharPorIdsSaltaLosReservados() {
+		Evento evento = evento(LocalDateTime.now().plusDays(1), null);
+		Long libre = recordatorio(evento, EstadoRecordatorio.PENDIENTE, 0, null);
+		Long reservado = recordatorio(evento, EstadoRecordatorio.PENDIENTE, 0, LocalDateTime.now().plusMinutes(5));
+		EnviadorRecordatoriosLocal enviador = new EnviadorRecordatoriosLocal(0);
+
+		despachador(enviador).despachar(List.of(libre, reservado));
+
+		assertThat(enviador.getEnviados()).isEqualTo(1);
+		assertThat(estado(libre)).isEqualTo(EstadoRecordatorio.ENVIADO);
+		assertThat(estado(reservado)).isEqualTo(EstadoRecordatorio.PENDIENTE);
+	}
+
+	private DespachadorRecordatorios despachador(EnviadorRecordatorios enviador) {
+		return new DespachadorRecordatorios(recordatorioRepository, enviador, registroCambios, transactionTemplate,
+				100, 4, 5, Duration.ofHours(1), ESPERA_BASE, Duration.ofMinutes(5));
+	}
+
+	private Evento evento(LocalDateTime fechaInicio, LocalDateTime fechaFin) {
+		Evento evento = new Evento();
+		evento.setNombre("Feria de ciencias");
+		evento.setUbicacion("Auditorio");
+		evento.setFechaInicio(fechaInicio);
+		evento.setFechaFin(fechaFin);
+		evento.setEstado(EstadoEvento.PROGRAMADO);
+		return eventoRepository.save(evento);
+	}
+
+	private Long recordatorio(Evento evento, EstadoRecordatorio estado, int intentos, LocalDateTime proximoIntento) {
+		Recordatorio recordatorio = new Recordatorio();
+		recordatorio.setUsuario(usuario);
+		recordatorio.setEvento(evento);
+		recordatorio.setEstado(estado);
+		recordatorio.setIntentos(intentos);
+		recordatorio.setProximoIntento(proximoIntento);
+		return recordatorioRepository.save(recordatorio).getId();
+	}
+
+	private EstadoRecordatorio estado(Long id) {
+		return recordatorioRepository.findById(id).orElseThrow().getEstado();
+	}
+}
@@ -0,0 +1,124 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.events.EventosModificados;
+import com.syntaxerror.quehayut.models.Evento;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IndiceBusquedaEventosTests {
+
+	private final EventoRepository eventoRepository = mock(EventoRepository.class);
+
+	@Test
+	void tokenizarPliegaTildesYDescartaPalabrasVacias() {
+		assertThat(IndiceBusquedaEventos.tokenizar("¡Música en VIVO, año 2026!"))
+				.containsExactly("musica", "vivo", "ano", "2026");
+		assertThat(IndiceBusquedaEventos.tokenizar("Taller de programación: a b Java-Spring"))
+				.containsExactly("taller", "programacion", "java", "spring");
+		assertThat(IndiceBusquedaEventos.tokenizar("  ")).isEmpty();
+		assertThat(IndiceBusquedaEventos.tokenizar(null)).isEmpty();
+	}
+
+	@Test
+	void consultaSinTildesEncuentraTextoConTildes() {
+		IndiceBusquedaEventos indice = indice(evento(1L, "Festival de Música", null));
+
+		assertThat(ids(indice.buscar("musica", 10))).containsExactly(1L);
+		assertThat(ids(indice.buscar("MÚSICA", 10))).containsExactly(1L);
+		assertThat(indice.buscar("de la", 10)).isEmpty();
+	}
+
+	@Test
+	void nombrePesaMasQueDescripcion() {
+		IndiceBusquedaEventos indice = indice(
+				evento(1L, "Charla abierta", "Una tarde de jazz con estudiantes"),
+				evento(2L, "Noche de jazz", "Una charla abierta con estudiantes"));
+
+		assertThat(ids(indice.buscar("jazz", 10))).containsExactly(2L, 1L);
+	}
+
+	@Test
+	void terminoRaroPesaMasQueTerminoComun() {
+		IndiceBusquedaEventos indice = indice(
+				evento(1L, "Concierto de rock", null),
+				evento(2L, "Concierto de jazz", null),
+				evento(3L, "Concierto de salsa", null),
+				evento(4L, "Concierto sinfónico", null));
+
+		List<IndiceBusquedaEventos.Resultado> resultados = indice.buscar("concierto jazz", 10);
+
+		assertThat(resultados).hasSize(4);
+		assertThat(resultados.get(0).eventoId()).isEqualTo(2L);
+		assertThat(resultados.get(0).puntaje()).isGreaterThan(2 * resultados.get(1).puntaje());
+	}
+
+	@Test
+	void documentoCortoPesaMasConLaMismaFrecuencia() {
+		IndiceBusquedaEventos indice = indice(
+				evento(1L, "Hackatón", "Veinticuatro horas programando soluciones para problemas reales del campus"),
+				evento(2L, "Hackatón", null));
+
+		assertThat(ids(indice.buscar("hackaton", 10))).containsExactly(2L, 1L);
+	}
+
+	@Test
+	void limiteDevuelveLosMejoresOrdenados() {
+		IndiceBusquedaEventos indice = indice(
+				evento(1L, "Feria", "feria"),
+				evento(2L, "Feria", "feria feria"),
+				evento(3L, "Feria", null),
+				evento(4L, "Feria", "feria feria feria"));
+
+		List<IndiceBusquedaEventos.Resultado> resultados = indice.buscar("feria", 2);
+
+		assertThat(resultados).hasSize(2);
+		assertThat(resultados.get(0).puntaje()).isGreaterThanOrEqualTo(resultados.get(1).puntaje());
+		assertThat(ids(resultados)).containsExactly(4L, 2L);
+	}
+
+	@Test
+	void actualizarReindexaYRetiraEliminados() {
+		IndiceBusquedaEventos indice = indice(
+				evento(1L, "Torneo de ajedrez", null),
+				evento(2L, "Torneo de fútbol", null));
+
+		// 1 cambia de nombre; 2 ya no existe
+		when(eventoRepository.findAllById(anyIterable())).thenReturn(List.of(evento(1L, "Torneo de ping pong", null)));
+		indice.actualizar(new EventosModificados(Set.of(1L, 2L)));
+
+		assertThat(indice.buscar("ajedrez", 10)).isEmpty();
+		assertThat(indice.buscar("futbol", 10)).isEmpty();
+		assertThat(ids(indice.buscar("ping torneo", 10))).containsExactly(1L);
+	}
+
+	private IndiceBusquedaEventos indice(Evento... eventos) {
+		IndiceBusquedaEventos indice = new IndiceBusquedaEventos(eventoRepository);
+		ReflectionTestUtils.setField(indice, "entityManager", mock(EntityManager.class));
+		when(eventoRepository.streamTodos()).thenReturn(Stream.of(eventos));
+		indice.construir();
+		return indice;
+	}
+
+	private static Evento evento(Long id, String nombre, String descripcion) {
+		Evento evento = new Evento();
+		evento.setId(id);
+		evento.setNombre(nombre);
+		evento.setDescripcion(descripcion);
+		return evento;
+	}
+
+	private static List<Long> ids(List<IndiceBusquedaEventos.Resultado> resultados) {
+		return resultados.stream().map(IndiceBusquedaEventos.Resultado::eventoId).toList();
+	}
+}
@@ -0,0 +1,84 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.ParEventoCategoria;
+import com.syntaxerror.quehayut.events.EventosModificados;
+import com.syntaxerror.quehayut.repositories.EventoCategoriaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IndiceCategoriasEventosTests {
+
+	// Más allá de Integer.MAX_VALUE, como los que deja una secuencia con saltos
+	private static final long ID_GRANDE = 3_000_000_000L;
+
+	private EventoCategoriaRepository eventoCategoriaRepository;
+	private IndiceCategoriasEventos indice;
+
+	@BeforeEach
+	void construir() {
+		eventoCategoriaRepository = mock(EventoCategoriaRepository.class);
+		when(eventoCategoriaRepository.streamPares()).thenReturn(Stream.of(
+				new ParEventoCategoria(1L, 10L),
+				new ParEventoCategoria(1L, 20L),
+				new ParEventoCategoria(2L, 10L),
+				new ParEventoCategoria(3L, 20L),
+				new ParEventoCategoria(ID_GRANDE, 10L),
+				new ParEventoCategoria(ID_GRANDE, 20L)));
+		indice = new IndiceCategoriasEventos(eventoCategoriaRepository);
+		indice.construir();
+	}
+
+	@Test
+	void algunaEsUnion() {
+		assertThat(ids(List.of(10L, 20L), false)).containsExactly(1L, 2L, 3L, ID_GRANDE);
+		assertThat(ids(List.of(20L), false)).containsExactly(1L, 3L, ID_GRANDE);
+	}
+
+	@Test
+	void todasEsInterseccion() {
+		assertThat(ids(List.of(10L, 20L), true)).containsExactly(1L, ID_GRANDE);
+	}
+
+	@Test
+	void categoriaDesconocidaNoTieneEventos() {
+		assertThat(ids(List.of(99L), false)).isEmpty();
+		assertThat(ids(List.of(10L, 99L), true)).isEmpty();
+		assertThat(ids(List.of(10L, 99L), false)).containsExactly(1L, 2L, ID_GRANDE);
+		assertThat(ids(List.of(), false)).isEmpty();
+	}
+
+	@Test
+	void elResultadoNoModificaElIndice() {
+		indice.filtrar(List.of(10L), false).addLong(42L);
+
+		assertThat(ids(List.of(10L), false)).containsExactly(1L, 2L, ID_GRANDE);
+	}
+
+	@Test
+	void actualizarCambiaLasCategoriasDeLosModificados() {
+		// 1 queda solo en 20; 2 ya no existe; 4 es nuevo en 10
+		when(eventoCategoriaRepository.findParesPorEventos(anyCollection())).thenReturn(List.of(
+				new ParEventoCategoria(1L, 20L),
+				new ParEventoCategoria(4L, 10L)));
+
+		indice.actualizar(new EventosModificados(Set.of(1L, 2L, 4L)));
+
+		assertThat(ids(List.of(10L), false)).containsExactly(4L, ID_GRANDE);
+		assertThat(ids(List.of(20L), false)).containsExactly(1L, 3L, ID_GRANDE);
+		// Los que no se modificaron conservan sus categorías
+		assertThat(ids(List.of(10L, 20L), true)).containsExactly(ID_GRANDE);
+	}
+
+	private long[] ids(List<Long> categorias, boolean todas) {
+		return indice.filtrar(categorias, todas).toArray();
+	}
+}
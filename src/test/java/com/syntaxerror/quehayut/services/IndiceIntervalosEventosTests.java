@@ -0,0 +1,91 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.IntervaloEvento;
+import com.syntaxerror.quehayut.events.EventosModificados;
+import com.syntaxerror.quehayut.repositories.EventoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IndiceIntervalosEventosTests {
+
+	private static final LocalDateTime DIA = LocalDateTime.of(2026, 3, 10, 0, 0);
+	private static final Duration SIN_FECHA_FIN = Duration.ofHours(2);
+
+	private EventoRepository eventoRepository;
+	private IndiceIntervalosEventos indice;
+
+	@BeforeEach
+	void construir() {
+		eventoRepository = mock(EventoRepository.class);
+		when(eventoRepository.streamIntervalos()).thenReturn(Stream.of(
+				// 1: de 10:00 a 12:00
+				new IntervaloEvento(1L, DIA.withHour(10), DIA.withHour(12)),
+				// 2: sin fecha de fin, dura SIN_FECHA_FIN desde las 15:00
+				new IntervaloEvento(2L, DIA.withHour(15), null),
+				// 3: dura todo el día siguiente
+				new IntervaloEvento(3L, DIA.plusDays(1), DIA.plusDays(2))));
+		indice = new IndiceIntervalosEventos(eventoRepository, SIN_FECHA_FIN);
+		indice.construir();
+	}
+
+	@Test
+	void ventanaQueTocaLosBordes() {
+		assertThat(ids(DIA.withHour(12), DIA.withHour(13))).containsExactly(1);
+		assertThat(ids(DIA.withHour(9), DIA.withHour(10))).containsExactly(1);
+		assertThat(ids(DIA.withHour(12).plusSeconds(1), DIA.withHour(14))).isEmpty();
+	}
+
+	@Test
+	void eventoSinFinDuraLoConfigurado() {
+		// "Qué está pasando ahora" a mitad del evento, como lo ve CicloVidaEventos (EN_CURSO)
+		assertThat(ids(DIA.withHour(16), DIA.withHour(16))).containsExactly(2);
+		assertThat(ids(DIA.withHour(17), DIA.withHour(18))).containsExactly(2);
+		assertThat(ids(DIA.withHour(17).plusSeconds(1), DIA.withHour(18))).isEmpty();
+	}
+
+	@Test
+	void extremoNuloDejaLaVentanaAbierta() {
+		assertThat(ids(null, DIA.withHour(11))).containsExactly(1);
+		assertThat(ids(DIA.withHour(14), null)).containsExactly(2, 3);
+		assertThat(ids(null, null)).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	void actualizarMueveYRetiraEventos() {
+		// 1 pasa a la tarde; 3 ya no existe
+		when(eventoRepository.findIntervalos(anyCollection())).thenReturn(List.of(
+				new IntervaloEvento(1L, DIA.withHour(18), DIA.withHour(20))));
+
+		indice.actualizar(new EventosModificados(Set.of(1L, 3L)));
+
+		assertThat(ids(DIA.withHour(10), DIA.withHour(12))).isEmpty();
+		assertThat(ids(DIA.withHour(19), DIA.withHour(19))).containsExactly(1);
+		assertThat(ids(null, null)).containsExactly(1, 2);
+	}
+
+	@Test
+	void finAnteriorAlInicioSeTrataComoInstante() {
+		when(eventoRepository.findIntervalos(anyCollection())).thenReturn(List.of(
+				new IntervaloEvento(4L, DIA.withHour(8), DIA.withHour(7))));
+
+		indice.actualizar(new EventosModificados(Set.of(4L)));
+
+		assertThat(ids(DIA.withHour(8), DIA.withHour(8))).containsExactly(4);
+		assertThat(ids(DIA.withHour(7), DIA.withHour(7).plusMinutes(59))).isEmpty();
+	}
+
+	private long[] ids(LocalDateTime desde, LocalDateTime hasta) {
+		return indice.enVentana(desde, hasta).toArray();
+	}
+}
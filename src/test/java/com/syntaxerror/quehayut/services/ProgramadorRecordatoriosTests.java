@@ -0,0 +1,123 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.dto.RecordatorioProgramable;
+import com.syntaxerror.quehayut.events.RecordatoriosModificados;
+import com.syntaxerror.quehayut.models.enums.EstadoRecordatorio;
+import com.syntaxerror.quehayut.repositories.RecordatorioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Rueda real con ticks de 10 ms; el despachador es un mock y se verifica qué ids le llegan
+class ProgramadorRecordatoriosTests {
+
+	private static final Duration ANTICIPACION = Duration.ofHours(1);
+
+	private RecordatorioRepository recordatorioRepository;
+	private DespachadorRecordatorios despachador;
+	private ProgramadorRecordatorios programador;
+
+	@BeforeEach
+	void crear() {
+		recordatorioRepository = mock(RecordatorioRepository.class);
+		despachador = mock(DespachadorRecordatorios.class);
+		programador = new ProgramadorRecordatorios(recordatorioRepository, despachador,
+				ANTICIPACION, Duration.ofDays(2), 5, Duration.ofMillis(10), 64);
+	}
+
+	@AfterEach
+	void detener() {
+		programador.detener();
+	}
+
+	@Test
+	void pendienteAtrasadoDeEventoSinEmpezarSeDisparaAlCargar() {
+		cargar(pendiente(1L, LocalDateTime.now().plusMinutes(30)));
+
+		verify(despachador, timeout(2000)).despachar(List.of(1L));
+	}
+
+	@Test
+	void pendienteDeEventoYaEmpezadoSeDescarta() {
+		cargar(pendiente(1L, LocalDateTime.now().minusMinutes(10)));
+
+		verify(despachador, after(500).never()).despachar(anyList());
+	}
+
+	@Test
+	void pendienteSeDisparaConLaAnticipacion() {
+		cargar(pendiente(1L, LocalDateTime.now().plus(ANTICIPACION).plus(Duration.ofMillis(300))));
+
+		verify(despachador, after(100).never()).despachar(anyList());
+		verify(despachador, timeout(2000)).despachar(List.of(1L));
+	}
+
+	@Test
+	void fallidoSeDisparaEnSuProximoIntento() {
+		cargar(new RecordatorioProgramable(1L, EstadoRecordatorio.FALLIDO, 2,
+				LocalDateTime.now().plusMinutes(30), LocalDateTime.now().plus(Duration.ofMillis(200))));
+
+		verify(despachador, timeout(2000)).despachar(List.of(1L));
+	}
+
+	@Test
+	void fallidoSinReintentosNoSeProgramaAunqueLlegueDelRepositorio() {
+		cargar(new RecordatorioProgramable(1L, EstadoRecordatorio.FALLIDO, 5,
+				LocalDateTime.now().plusMinutes(30), null));
+
+		verify(despachador, after(500).never()).despachar(anyList());
+	}
+
+	@Test
+	void enviadoCancelaLoProgramado() {
+		cargar(pendiente(1L, LocalDateTime.now().plus(ANTICIPACION).plus(Duration.ofMillis(500))));
+
+		when(recordatorioRepository.findProgramables(anyCollection())).thenReturn(List.of(
+				new RecordatorioProgramable(1L, EstadoRecordatorio.ENVIADO, 0, LocalDateTime.now().plus(ANTICIPACION), null)));
+		programador.recordatoriosModificados(new RecordatoriosModificados(Set.of(1L)));
+
+		verify(despachador, after(1000).never()).despachar(anyList());
+	}
+
+	@Test
+	void eliminadoCancelaLoProgramado() {
+		cargar(pendiente(1L, LocalDateTime.now().plus(ANTICIPACION).plus(Duration.ofMillis(500))));
+
+		when(recordatorioRepository.findProgramables(anyCollection())).thenReturn(List.of());
+		programador.recordatoriosModificados(new RecordatoriosModificados(Set.of(1L)));
+
+		verify(despachador, after(1000).never()).despachar(anyList());
+	}
+
+	@Test
+	void fueraDelHorizonteNoSePrograma() {
+		cargar(pendiente(1L, LocalDateTime.now().plusDays(3)));
+
+		verify(despachador, after(300).never()).despachar(anyList());
+	}
+
+	private void cargar(RecordatorioProgramable... recordatorios) {
+		when(recordatorioRepository.streamProgramables(any(), any(), anyInt())).thenReturn(Stream.of(recordatorios));
+		programador.cargar();
+	}
+
+	private static RecordatorioProgramable pendiente(Long id, LocalDateTime fechaInicioEvento) {
+		return new RecordatorioProgramable(id, EstadoRecordatorio.PENDIENTE, 0, fechaInicioEvento, null);
+	}
+}
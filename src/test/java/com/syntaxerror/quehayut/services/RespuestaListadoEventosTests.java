@@ -0,0 +1,53 @@
+package com.syntaxerror.quehayut.services;
+
+import org.junit.jupiter.api.Test;
+
+import static com.syntaxerror.quehayut.services.RespuestaListadoEventos.DEFLATE;
+import static com.syntaxerror.quehayut.services.RespuestaListadoEventos.GZIP;
+import static com.syntaxerror.quehayut.services.RespuestaListadoEventos.IDENTITY;
+import static com.syntaxerror.quehayut.services.RespuestaListadoEventos.codificacionPreferida;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RespuestaListadoEventosTests {
+
+	@Test
+	void sinAcceptEncodingEsIdentity() {
+		assertThat(codificacionPreferida(null)).isEqualTo(IDENTITY);
+		assertThat(codificacionPreferida("")).isEqualTo(IDENTITY);
+		assertThat(codificacionPreferida("br")).isEqualTo(IDENTITY);
+	}
+
+	@Test
+	void gzipGanaElEmpate() {
+		assertThat(codificacionPreferida("gzip, deflate, br")).isEqualTo(GZIP);
+		assertThat(codificacionPreferida("deflate, gzip")).isEqualTo(GZIP);
+		assertThat(codificacionPreferida("GZIP")).isEqualTo(GZIP);
+		assertThat(codificacionPreferida("x-gzip")).isEqualTo(GZIP);
+	}
+
+	@Test
+	void respetaLosValoresQ() {
+		assertThat(codificacionPreferida("gzip;q=0.5, deflate")).isEqualTo(DEFLATE);
+		assertThat(codificacionPreferida("gzip; q=0.9, deflate;q=0.8")).isEqualTo(GZIP);
+		assertThat(codificacionPreferida("gzip;q=0, deflate;q=0")).isEqualTo(IDENTITY);
+		// Un q mal escrito cuenta como 0
+		assertThat(codificacionPreferida("gzip;q=abc, deflate")).isEqualTo(DEFLATE);
+	}
+
+	@Test
+	void comodinCubreLoQueNoSeNombra() {
+		assertThat(codificacionPreferida("*")).isEqualTo(GZIP);
+		assertThat(codificacionPreferida("gzip;q=0, *")).isEqualTo(DEFLATE);
+		assertThat(codificacionPreferida("*;q=0")).isEqualTo(IDENTITY);
+	}
+
+	@Test
+	void etagDistintoPorCodificacion() {
+		RespuestaListadoEventos.Variantes variantes =
+				new RespuestaListadoEventos.Variantes(new byte[0], new byte[0], new byte[0], "abc123");
+
+		assertThat(variantes.etag(IDENTITY)).isEqualTo("\"abc123\"");
+		assertThat(variantes.etag(GZIP)).isEqualTo("\"abc123-gzip\"");
+		assertThat(variantes.etag(DEFLATE)).isEqualTo("\"abc123-deflate\"");
+	}
+}
@@ -0,0 +1,111 @@
+package com.syntaxerror.quehayut.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+// La rueda no se inicia: cada avanzar() es un tick, así las pruebas no dependen del reloj
+class RuedaTemporizacionTests {
+
+	private static final long TICK_MS = 100;
+	private static final int CUBETAS = 8;
+
+	private long inicioMs;
+	private RuedaTemporizacion rueda;
+	private long ticksAvanzados;
+
+	@BeforeEach
+	void crear() {
+		inicioMs = System.currentTimeMillis();
+		rueda = new RuedaTemporizacion("rueda-prueba", Duration.ofMillis(TICK_MS), CUBETAS, vencidas -> {
+		});
+	}
+
+	@Test
+	void venceEnSuTick() {
+		rueda.programar(1, momento(3));
+
+		assertThat(avanzarHasta(3)).isEmpty();
+		assertThat(rueda.avanzar()).containsExactly(1L);
+		assertThat(rueda.tamano()).isZero();
+	}
+
+	@Test
+	void masDeUnaVueltaEsperaSusRondas() {
+		// Tick 19 con 8 cubetas: cubeta 3, dos rondas
+		rueda.programar(1, momento(19));
+		rueda.programar(2, momento(3));
+
+		List<Long> vencidas = avanzarHasta(19);
+		assertThat(vencidas).containsExactly(2L);
+		assertThat(rueda.avanzar()).containsExactly(1L);
+	}
+
+	@Test
+	void indiceDaLaVueltaAlFinalDeLaRueda() {
+		avanzarHasta(6);
+		// Tick 10 desde el tick 6: cubeta 2, en la misma vuelta
+		rueda.programar(1, momento(10));
+
+		assertThat(avanzarHasta(10)).isEmpty();
+		assertThat(rueda.avanzar()).containsExactly(1L);
+	}
+
+	@Test
+	void momentoPasadoVenceEnElSiguienteTick() {
+		avanzarHasta(5);
+		rueda.programar(1, momento(1));
+
+		assertThat(rueda.avanzar()).containsExactly(1L);
+	}
+
+	@Test
+	void cancelarLaRetira() {
+		rueda.programar(1, momento(2));
+
+		assertThat(rueda.cancelar(1)).isTrue();
+		assertThat(rueda.cancelar(1)).isFalse();
+		assertThat(rueda.tamano()).isZero();
+		assertThat(avanzarHasta(2 * CUBETAS)).isEmpty();
+	}
+
+	@Test
+	void reprogramarReemplazaElMomento() {
+		rueda.programar(1, momento(2));
+		rueda.programar(1, momento(5));
+
+		assertThat(rueda.tamano()).isEqualTo(1);
+		assertThat(avanzarHasta(5)).isEmpty();
+		assertThat(rueda.avanzar()).containsExactly(1L);
+	}
+
+	@Test
+	void tamanoDebeSerPotenciaDeDos() {
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				new RuedaTemporizacion("rueda-prueba", Duration.ofMillis(TICK_MS), 6, vencidas -> {
+				}));
+	}
+
+	// Mitad del tick pedido, para que el redondeo no dependa de los milisegundos
+	// que pasaron entre leer el reloj y crear la rueda
+	private long momento(long tick) {
+		return inicioMs + tick * TICK_MS + TICK_MS / 2;
+	}
+
+	// Avanza hasta dejar la rueda en el tick dado y devuelve lo que venció por el camino.
+	// Las llamadas sueltas a avanzar() van al final de cada prueba, sin avanzarHasta después
+	private List<Long> avanzarHasta(long tick) {
+		List<Long> vencidas = new ArrayList<>();
+		for (long i = ticksAvanzados; i < tick; i++) {
+			vencidas.addAll(rueda.avanzar());
+		}
+		ticksAvanzados = Math.max(ticksAvanzados, tick);
+		return vencidas;
+	}
+}
@@ -0,0 +1,135 @@
+package com.syntaxerror.quehayut.services;
+
+import com.syntaxerror.quehayut.events.EventosModificados;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Anillo de 8 cambios para poder darle la vuelta. Los ids de eventos no existen en la base,
+// así que cada cambio publicado llega como "eliminado"; lo que importa son las secuencias.
+@SpringBootTest(properties = "quehayut.eventos.stream.capacidad=8")
+@AutoConfigureMockMvc
+class StreamCambiosEventosTests {
+
+	private static final AtomicLong SIGUIENTE_EVENTO = new AtomicLong(900_000);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StreamCambiosEventos streamCambiosEventos;
+
+	private record Recibido(long id, String tipo) {
+	}
+
+	@Test
+	void lastEventIdRetomaDesdeElSiguiente() throws Exception {
+		MvcResult vivo = conectar(null);
+		publicar(3);
+		List<Recibido> recibidos = esperar(vivo, lista -> lista.size() == 3);
+
+		MvcResult retomado = conectar(recibidos.get(0).id());
+
+		assertThat(esperar(retomado, lista -> lista.size() == 2)).containsExactlyElementsOf(recibidos.subList(1, 3));
+	}
+
+	@Test
+	void atrasadoMasQueElAnilloRecibeResync() throws Exception {
+		MvcResult vivo = conectar(null);
+		publicar(1);
+		long primero = esperar(vivo, lista -> lista.size() == 1).get(0).id();
+		// 12 cambios más: el anillo de 8 ya no tiene el siguiente a "primero"
+		publicar(12);
+		long ultimo = primero + 12;
+
+		MvcResult atrasado = conectar(primero);
+
+		// El id del resync es la última secuencia, para reconectar desde ahí después de recargar
+		assertThat(esperar(atrasado, lista -> !lista.isEmpty()))
+				.containsExactly(new Recibido(ultimo, StreamCambiosEventos.RESYNC));
+	}
+
+	@Test
+	void lastEventIdDeOtraEjecucionRecibeResync() throws Exception {
+		MvcResult vivo = conectar(null);
+		publicar(1);
+		long ultimo = esperar(vivo, lista -> lista.size() == 1).get(0).id();
+
+		MvcResult adelantado = conectar(ultimo + 1000);
+
+		assertThat(esperar(adelantado, lista -> !lista.isEmpty()))
+				.containsExactly(new Recibido(ultimo, StreamCambiosEventos.RESYNC));
+	}
+
+	@Test
+	void lastEventIdNoNumericoEs400() throws Exception {
+		mockMvc.perform(get("/api/eventos/stream").header("Last-Event-ID", "abc"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private MvcResult conectar(Long ultimoRecibido) throws Exception {
+		MockHttpServletRequestBuilder peticion = get("/api/eventos/stream");
+		if (ultimoRecibido != null) {
+			peticion.header("Last-Event-ID", ultimoRecibido);
+		}
+		return mockMvc.perform(peticion).andExpect(request().asyncStarted()).andReturn();
+	}
+
+	// Un cambio por publicación: un lote de más de la mitad del anillo se avisaría como un solo resync
+	private void publicar(int cambios) {
+		for (int i = 0; i < cambios; i++) {
+			streamCambiosEventos.eventosModificados(new EventosModificados(Set.of(SIGUIENTE_EVENTO.incrementAndGet())));
+		}
+	}
+
+	private static List<Recibido> esperar(MvcResult resultado, Predicate<List<Recibido>> condicion) throws Exception {
+		long limite = System.currentTimeMillis() + 5000;
+		List<Recibido> recibidos = recibidos(resultado);
+		while (!condicion.test(recibidos)) {
+			if (System.currentTimeMillis() > limite) {
+				fail("No llegaron los eventos esperados, recibidos: " + recibidos);
+			}
+			Thread.sleep(20);
+			recibidos = recibidos(resultado);
+		}
+		return recibidos;
+	}
+
+	// Eventos con id en el cuerpo SSE; los latidos (comentarios) y un evento a medio escribir se ignoran
+	private static List<Recibido> recibidos(MvcResult resultado) throws Exception {
+		String cuerpo = resultado.getResponse().getContentAsString();
+		int fin = cuerpo.lastIndexOf("\n\n");
+		List<Recibido> recibidos = new ArrayList<>();
+		for (String bloque : (fin < 0 ? "" : cuerpo.substring(0, fin)).split("\n\n")) {
+			Long id = null;
+			String tipo = null;
+			for (String linea : bloque.split("\n")) {
+				if (linea.startsWith("id:")) {
+					id = Long.valueOf(linea.substring(3).trim());
+				} else if (linea.startsWith("event:")) {
+					tipo = linea.substring(6).trim();
+				}
+			}
+			if (id != null) {
+				recibidos.add(new Recibido(id, tipo));
+			}
+		}
+		return recibidos;
+	}
+}